@@ -0,0 +1,84 @@
+package arlob.dinogame;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A solver which backtracks over tile placements, as `Dinosaurs.getSolutions()`
+ * does, and reports how many boards (search nodes) it visited, so that the
+ * different ways of branching can be compared.
+ * <p>
+ * By default only the search which branches on every square keeps a
+ * transposition table, as `Dinosaurs.getSolutions()` does, but the table
+ * can be turned on or off for any branching, so that, for example, the
+ * nodes saved by branching on a single square can be measured against the
+ * search which tries every placement order.
+ */
+public class BacktrackingSolver implements Solver {
+    private final Branching branching;
+    private final boolean pruning;
+    private final boolean memoising;
+    private volatile long nodesVisited;
+
+    /**
+     * @param branching How to choose the squares to branch on.
+     */
+    public BacktrackingSolver(Branching branching) {
+        this(branching, false);
+    }
+
+    /**
+     * @param branching How to choose the squares to branch on.
+     * @param pruning   Whether to give up on boards which can no longer
+     *                  satisfy the objective (see `Dinosaurs.canSatisfyObjective`).
+     */
+    public BacktrackingSolver(Branching branching, boolean pruning) {
+        this(branching, pruning, branching == Branching.EVERY_SQUARE);
+    }
+
+    /**
+     * @param branching How to choose the squares to branch on.
+     * @param pruning   Whether to give up on boards which can no longer
+     *                  satisfy the objective (see `Dinosaurs.canSatisfyObjective`).
+     * @param memoising Whether to keep the boards which have been fully
+     *                  explored in a transposition table, and not search
+     *                  them again.
+     */
+    public BacktrackingSolver(Branching branching, boolean pruning, boolean memoising) {
+        this.branching = branching;
+        this.pruning = pruning;
+        this.memoising = memoising;
+    }
+
+    @Override
+    public Set<String> getSolutions(Dinosaurs game) {
+        LongAdder nodes = new LongAdder();
+        Set<String> sols = new LinkedHashSet<>();
+
+        game.clone().search(sols, branching, pruning, memoising, nodes);
+        nodesVisited = nodes.sum();
+
+        return sols;
+    }
+
+    public Branching getBranching() {
+        return branching;
+    }
+
+    public boolean isPruning() {
+        return pruning;
+    }
+
+    public boolean isMemoising() {
+        return memoising;
+    }
+
+    /**
+     * @return The number of boards visited by the most recent call to
+     * `getSolutions`, including the board it started from.
+     */
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+}
@@ -0,0 +1,404 @@
+package arlob.dinogame;
+
+import java.util.stream.IntStream;
+
+/**
+ * The footprints of the placements as bitboards, and a search over them
+ * which runs in place, without allocating anything per board or solution.
+ * <p>
+ * The twenty board locations (corners) are numbered row by row, so that
+ * location (x,y) is bit y * 5 + x of a corner mask, and the twelve squares
+ * are numbered the same way, so that the square to the lower-right of
+ * location (x,y) is bit y * 4 + x of a square mask.
+ * <p>
+ * The state of a board is then held in three corner masks (water, red and
+ * green) and one square mask (occupancy), as in `Board`.  A location is
+ * EMPTY when it is none of water, red or green.
+ * <p>
+ * Tile placements are addressed by a placement code between 0 and 287
+ * (see `Placement`).  The footprint of every one of the 288 placements is
+ * precomputed as a set of masks, so each placement check reduces to a
+ * handful of AND and compare operations (see `Board.evaluate`).
+ * <p>
+ * An instance is a search which starts from the masks of a `Board`, and
+ * places and removes tiles on its own copy of them as it goes, so it is
+ * only used by one thread, and only for one search at a time.
+ */
+public class Bitboard {
+
+    public static final int PLACEMENTS = Placement.COUNT;
+
+    /*
+     * Precomputed footprints, indexed by placement code.  CORNER_MASK holds the
+     * six locations covered by a placement, and WATER_MASK, RED_MASK and
+     * GREEN_MASK the subsets of those locations in the given state.
+     * SQUARE_MASK holds the
+     * two squares covered by a placement.   Placements which do not fit inside
+     * the board only have the parts of their footprint that lie on the board.
+     */
+    static final int[] CORNER_MASK = new int[PLACEMENTS];
+    static final int[] WATER_MASK = new int[PLACEMENTS];
+    static final int[] RED_MASK = new int[PLACEMENTS];
+    static final int[] GREEN_MASK = new int[PLACEMENTS];
+    static final int[] SQUARE_MASK = new int[PLACEMENTS];
+    static final boolean[] ON_BOARD = new boolean[PLACEMENTS];
+
+    /* The codes of the placements on the board which cover each square */
+    static final int[][] COVERING = new int[12][];
+
+    /*
+     * The island connections made by each placement, as a square mask: a
+     * square is set when the placement has dinosaurs on both islands of
+     * the square's land diagonal.
+     */
+    static final int[] CONNECTION_MASK = new int[PLACEMENTS];
+
+    /* The water of the empty board: every location but the islands */
+    static final int INITIAL_WATER = 0b10101_01010_10101_01010;
+
+    /* The tile types when every tile has been placed */
+    static final int ALL_TILES = (1 << 6) - 1;
+
+    static {
+        for (int code = 0; code < PLACEMENTS; code++) {
+            TileType type = Placement.tileType(code);
+            Orientation orientation = Placement.orientation(code);
+            int x = Placement.x(code);
+            int y = Placement.y(code);
+            boolean vertical = orientation == Orientation.NORTH || orientation == Orientation.SOUTH;
+
+            ON_BOARD[code] = vertical ? y < 2 : x < 3;
+            SQUARE_MASK[code] = squareBit(x, y) | (vertical ? squareBit(x, y + 1) : squareBit(x + 1, y));
+
+            TileType.Footprint footprint = type.footprint(orientation);
+            for (int k = 0; k < TileType.Footprint.SIZE; k++) {
+                State s = footprint.getState(k);
+                int bit = cornerBit(x + footprint.getX(k), y + footprint.getY(k));
+
+                if (bit == 0) {
+                    continue;
+                }
+
+                CORNER_MASK[code] |= bit;
+
+                switch (s) {
+                    case WATER -> WATER_MASK[code] |= bit;
+                    case RED -> RED_MASK[code] |= bit;
+                    case GREEN -> GREEN_MASK[code] |= bit;
+                }
+            }
+
+            int dinosaurs = RED_MASK[code] | GREEN_MASK[code];
+            for (int square = 0; square < 12; square++) {
+                int diagonal = islands(square % 4, square / 4);
+
+                if ((SQUARE_MASK[code] & (1 << square)) != 0 && (dinosaurs & diagonal) == diagonal) {
+                    CONNECTION_MASK[code] |= 1 << square;
+                }
+            }
+        }
+
+        for (int square = 0; square < 12; square++) {
+            final int bit = 1 << square;
+            COVERING[square] = IntStream.range(0, PLACEMENTS)
+                    .filter(code -> ON_BOARD[code] && (SQUARE_MASK[code] & bit) != 0)
+                    .toArray();
+        }
+    }
+
+    /*
+     * One bit per placement code, set when the placement on its own is
+     * compatible with the island connections of the objective (see
+     * `objectiveMask`), and the squares whose land diagonal the objective
+     * requires.
+     */
+    private final long[] objectiveMask;
+    private final int requiredSquares;
+
+    /* The state of the board, changed in place by the search */
+    private int water;
+    private int red;
+    private int green;
+    private int squares;
+    private int tiles;          // one bit per placed tile type
+    private long placements;    // packed as for `visitSolutions`
+
+    /**
+     * Construct a search starting from a board.
+     *
+     * @param board The board to search from, which is left unchanged.
+     */
+    public Bitboard(Board board) {
+        this.objectiveMask = board.getObjectiveMask();
+        this.requiredSquares = board.getRequiredSquares();
+        this.water = board.getWater();
+        this.red = board.getRed();
+        this.green = board.getGreen();
+        this.squares = board.getSquares();
+        this.tiles = board.getTiles();
+        this.placements = board.pack();
+    }
+
+    static int cornerBit(int x, int y) {
+        return x >= 0 && x < 5 && y >= 0 && y < 4 ? 1 << (y * 5 + x) : 0;
+    }
+
+    /**
+     * @param x The x coordinate of a square.
+     * @param y The y coordinate of a square.
+     * @return The two islands on the land diagonal of the square, as a corner mask.
+     */
+    static int islands(int x, int y) {
+        return (x + y) % 2 == 0 ? cornerBit(x, y) | cornerBit(x + 1, y + 1) : cornerBit(x + 1, y) | cornerBit(x, y + 1);
+    }
+
+    static int squareBit(int x, int y) {
+        return x >= 0 && x < 4 && y >= 0 && y < 3 ? 1 << (y * 4 + x) : 0;
+    }
+
+    /**
+     * Compute which placements are, on their own, compatible with the
+     * island connections of an objective, using the same rules as
+     * `Dinosaurs.violatesObjective`: every island of a required connection
+     * that lies inside the tile must be occupied by a dinosaur on the tile,
+     * and if the tile has more than one dinosaur, they must all be on
+     * islands of such required connections.
+     *
+     * @param objective The objective of the game.
+     * @return One bit per placement code, set if the placement is compatible.
+     */
+    static long[] objectiveMask(Objective objective) {
+        long[] mask = new long[(PLACEMENTS + 63) / 64];
+
+        for (int code = 0; code < PLACEMENTS; code++) {
+            int found = RED_MASK[code] | GREEN_MASK[code];
+            int required = objective.requiredCorners(CORNER_MASK[code]);
+
+            boolean violates = (found & required) != required
+                    || (Integer.bitCount(found) > 1 && (found & ~required) != 0);
+
+            if (!violates) {
+                mask[code >> 6] |= 1L << code;
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Place a tile, as `Board.withPlacement` does for a tile which has not
+     * been placed, but in place.
+     *
+     * @param code The placement code of the placement to add.
+     */
+    private void addTileToBoard(int code) {
+        int empty = CORNER_MASK[code] & ~water & ~(red | green);
+
+        water |= WATER_MASK[code] & empty;
+        red |= RED_MASK[code] & empty;
+        green |= GREEN_MASK[code] & empty;
+        squares |= SQUARE_MASK[code];
+        tiles |= 1 << (code / 48);
+        placements = placements & ~((long) Board.NOT_PLACED << (9 * (code / 48))) | ((long) code << (9 * (code / 48)));
+    }
+
+    private boolean validPlacement(int code) {
+        return ON_BOARD[code]
+                && (squares & SQUARE_MASK[code]) == 0
+                && Board.evaluateFootprint(water, red, green, objectiveMask, code) == Verdict.OK;
+    }
+
+    /**
+     * Check whether a placement is a candidate for extending the board: it
+     * must be a valid placement of a tile which has not been placed yet.
+     *
+     * @param code A placement code.
+     * @return True if the placement is a candidate.
+     */
+    private boolean isCandidatePlacement(int code) {
+        return (tiles & (1 << (code / 48))) == 0 && validPlacement(code);
+    }
+
+    /**
+     * Check whether every required island connection of the objective can
+     * still be made, as `Dinosaurs.canSatisfyObjective` does: each required
+     * square which is still empty must be covered by at least one candidate
+     * placement.
+     *
+     * @return False if some required connection can no longer be made.
+     */
+    public boolean canSatisfyObjective() {
+        for (int open = requiredSquares & ~squares; open != 0; open &= open - 1) {
+            if (!isCovered(Integer.numberOfTrailingZeros(open))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isCovered(int square) {
+        for (int code : COVERING[square]) {
+            if (isCandidatePlacement(code)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Count the solutions which extend this board, without building them.
+     *
+     * @return The number of solutions.
+     */
+    public long countSolutions() {
+        return search(null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Count the solutions which extend this board, stopping the search as
+     * soon as a given number of them have been found.
+     *
+     * @param limit The number of solutions to stop at.
+     * @return The number of solutions, or limit if there are at least that many.
+     */
+    public long countSolutions(long limit) {
+        return limit > 0 ? search(null, limit) : 0;
+    }
+
+    /**
+     * Find the solutions which extend this board, handing each of them to
+     * a visitor as it is found.  No objects are allocated during the search.
+     * <p>
+     * Each solution is passed as the placement codes of the six tiles packed
+     * into a long, nine bits per tile, with tile 'a' in the lowest bits (see
+     * `getPlacement(long, TileType)`).  The board must not be changed by the
+     * visitor.
+     *
+     * @param visitor The visitor to hand the solutions to.
+     */
+    public void visitSolutions(SolutionVisitor visitor) {
+        search(visitor, Long.MAX_VALUE);
+    }
+
+    /**
+     * Find the solutions which extend this board, as `visitSolutions` does,
+     * stopping the search as soon as a given number of them have been found.
+     *
+     * @param visitor The visitor to hand the solutions to.
+     * @param limit   The number of solutions to stop at.
+     * @return The number of solutions handed to the visitor.
+     */
+    public long visitSolutions(SolutionVisitor visitor, long limit) {
+        return limit > 0 ? search(visitor, limit) : 0;
+    }
+
+    /**
+     * Search for solutions in place, branching on the first empty square and
+     * restoring the board after each placement from copies kept on the stack.
+     * Boards which can no longer satisfy the objective are given up on.
+     *
+     * @param visitor The visitor to hand the solutions to, or null to only count them.
+     * @param limit   The number of solutions to stop at, at least 1.
+     * @return The number of solutions found, at most limit.
+     */
+    private long search(SolutionVisitor visitor, long limit) {
+        if (tiles == ALL_TILES) {
+            if (visitor != null) {
+                visitor.visit(placements);
+            }
+            return 1;
+        }
+
+        int square = Integer.numberOfTrailingZeros(~squares);
+
+        if (square >= 12 || !canSatisfyObjective()) {
+            return 0;
+        }
+
+        int w = water, r = red, g = green, s = squares, t = tiles;
+        long p = placements, count = 0;
+
+        for (int tile = 0; tile < 6 && count < limit; tile++) {
+            if ((tiles & (1 << tile)) != 0) {
+                continue;
+            }
+
+            for (int orientation = 0; orientation < 4 && count < limit; orientation++) {
+                int code = tile * 48 + square * 4 + orientation;
+
+                if (!validPlacement(code)) {
+                    continue;
+                }
+
+                addTileToBoard(code);
+                count += search(visitor, limit - count);
+
+                water = w;
+                red = r;
+                green = g;
+                squares = s;
+                tiles = t;
+                placements = p;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @param solution A solution, packed as for `visitSolutions`.
+     * @param tile     A tile type.
+     * @return The placement code of the tile in the solution.
+     */
+    public static int getPlacement(long solution, TileType tile) {
+        return (int) (solution >>> (9 * tile.ordinal())) & 511;
+    }
+
+    /**
+     * @param placements A string of placements, as in `Dinosaurs.toString()`.
+     * @return The placements, packed as for `visitSolutions`, with zeroes for
+     * the tiles which are not placed.
+     */
+    public static long pack(String placements) {
+        long packed = 0;
+
+        for (int i = 0; i < placements.length(); i += 4) {
+            int code = Placement.parse(placements.substring(i, i + 4));
+            packed |= (long) code << (9 * (code / 48));
+        }
+
+        return packed;
+    }
+
+    /**
+     * @param placements A string of placements, as in `Dinosaurs.toString()`.
+     * @return The bits of a packed solution which hold the placed tiles, so
+     * that a solution includes the placements if
+     * (solution &amp; packMask(placements)) == pack(placements).
+     */
+    public static long packMask(String placements) {
+        long mask = 0;
+
+        for (int i = 0; i < placements.length(); i += 4) {
+            mask |= 511L << (9 * (placements.charAt(i) - 'a'));
+        }
+
+        return mask;
+    }
+
+    /**
+     * @param solution A solution, packed as for `visitSolutions`.
+     * @return The solution in the same format as `Dinosaurs.getSolutions()`.
+     */
+    public static String solutionToString(long solution) {
+        StringBuilder str = new StringBuilder();
+
+        for (TileType tile : TileType.values()) {
+            str.append(Placement.toString(getPlacement(solution, tile)));
+        }
+
+        return str.toString();
+    }
+}
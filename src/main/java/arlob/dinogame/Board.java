@@ -0,0 +1,394 @@
+package arlob.dinogame;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static arlob.dinogame.State.*;
+
+/**
+ * An immutable game state: the objective, and the tiles placed on the
+ * board.  Placing or removing a tile returns a new board, which shares the
+ * objective (and its placement mask) with this one, and copies only a few
+ * ints and longs, so any number of threads can branch from the same board
+ * without copying or locking it.
+ * <p>
+ * The locations and squares are held as corner and square masks (see
+ * `Bitboard` for their layout and the footprint of each placement), and
+ * the placement of each tile type in 9 bits of a long, with tile 'a' in
+ * the lowest bits, as for `Bitboard.visitSolutions` (NOT_PLACED if the
+ * tile has not been placed).  A `Bitboard` search starts from these.
+ */
+public final class Board {
+    static final int NOT_PLACED = 511;
+
+    private static final long NONE_PLACED = (1L << 54) - 1;
+
+    /* A random key for each placement, whose XOR over the placed tiles is the Zobrist hash of a board */
+    static final long[] ZOBRIST = new SplittableRandom(0).longs(Placement.COUNT).toArray();
+
+    private final Objective objective;
+    private final long[] objectiveMask;
+
+    private final int water;
+    private final int red;
+    private final int green;
+    private final int squares;
+    private final int tiles;        // one bit per placed tile type
+    private final long placements;
+    private final long hash;
+
+    private Board(Objective objective, long[] objectiveMask, int water, int red, int green, int squares, int tiles,
+                  long placements, long hash) {
+        this.objective = objective;
+        this.objectiveMask = objectiveMask;
+        this.water = water;
+        this.red = red;
+        this.green = green;
+        this.squares = squares;
+        this.tiles = tiles;
+        this.placements = placements;
+        this.hash = hash;
+    }
+
+    /**
+     * @param objective The objective of the game.
+     * @return The board with no tiles placed.
+     */
+    public static Board empty(Objective objective) {
+        return empty(objective, objective.getPlacementMask());
+    }
+
+    /**
+     * The empty board with no objective, on which any placement that fits
+     * the land, water and dinosaurs of the board is valid.  Its solutions
+     * are every legal full board, whatever island connections they make.
+     *
+     * @return The board, whose objective is null.
+     */
+    static Board withoutObjective() {
+        long[] all = new long[PlacementSet.WORDS];
+        Arrays.fill(all, -1L);
+
+        return empty(null, all);
+    }
+
+    private static Board empty(Objective objective, long[] objectiveMask) {
+        return new Board(objective, objectiveMask, Bitboard.INITIAL_WATER, 0, 0, 0, 0, NONE_PLACED, 0);
+    }
+
+    /**
+     * @param objective The objective of the game.
+     * @param state     A string consisting of 4*N characters, representing
+     *                  tile placements.
+     * @return The board with the tiles placed, in order.
+     */
+    public static Board of(Objective objective, String state) {
+        Board board = empty(objective);
+
+        for (int i = 0; i + 4 <= state.length(); i += 4) {
+            board = board.withPlacement(Placement.parse(state.substring(i, i + 4)));
+        }
+
+        return board;
+    }
+
+    /**
+     * Place a tile.  A tile of the same type which is already on the board
+     * is removed first.  As in `Dinosaurs.addTileToBoard`, the placement is
+     * not checked: the tile's states are written over the empty land it
+     * covers, and water and dinosaurs already on the board are kept.
+     *
+     * @param code The placement code (see `Placement`) of the placement.
+     * @return The board with the tile placed.
+     */
+    public Board withPlacement(int code) {
+        int t = code / 48;
+
+        if (getPlacement(t) >= 0) {
+            return withoutTile(Placement.tileType(code)).withPlacement(code);
+        }
+
+        int empty = Bitboard.CORNER_MASK[code] & ~water & ~(red | green);
+
+        return new Board(objective, objectiveMask,
+                water | (Bitboard.WATER_MASK[code] & empty),
+                red | (Bitboard.RED_MASK[code] & empty),
+                green | (Bitboard.GREEN_MASK[code] & empty),
+                squares | Bitboard.SQUARE_MASK[code],
+                tiles | (1 << t),
+                placements & ~((long) NOT_PLACED << (9 * t)) | ((long) code << (9 * t)),
+                hash ^ ZOBRIST[code]);
+    }
+
+    /**
+     * @param placement A string representing a tile placement on the board.
+     * @return The board with the tile placed (see `withPlacement(int)`).
+     */
+    public Board withPlacement(String placement) {
+        return withPlacement(Placement.parse(placement));
+    }
+
+    /**
+     * Remove a tile, if it has been placed.  The board is rebuilt from the
+     * remaining placements, so a dinosaur that is shared with another placed
+     * tile stays on the board.
+     *
+     * @param tile The tile type to remove.
+     * @return The board without the tile.
+     */
+    public Board withoutTile(TileType tile) {
+        if (getPlacement(tile) < 0) {
+            return this;
+        }
+
+        Board board = empty(objective, objectiveMask);
+
+        for (int t = 0; t < 6; t++) {
+            int code = getPlacement(t);
+
+            if (t != tile.ordinal() && code >= 0) {
+                board = board.withPlacement(code);
+            }
+        }
+
+        return board;
+    }
+
+    public Objective getObjective() {
+        return objective;
+    }
+
+    /* The masks of the board, for `Bitboard` to search from */
+
+    long[] getObjectiveMask() {
+        return objectiveMask;
+    }
+
+    int getRequiredSquares() {
+        return objective != null ? objective.getRequiredSquares() : 0;
+    }
+
+    int getWater() {
+        return water;
+    }
+
+    int getRed() {
+        return red;
+    }
+
+    int getGreen() {
+        return green;
+    }
+
+    int getSquares() {
+        return squares;
+    }
+
+    int getTiles() {
+        return tiles;
+    }
+
+    /**
+     * @param tile A tile type.
+     * @return The placement code of the tile, or -1 if it has not been placed.
+     */
+    public int getPlacement(TileType tile) {
+        return getPlacement(tile.ordinal());
+    }
+
+    private int getPlacement(int t) {
+        int code = (int) (placements >>> (9 * t)) & NOT_PLACED;
+
+        return code == NOT_PLACED ? -1 : code;
+    }
+
+    /**
+     * @return The number of tiles placed.
+     */
+    public int size() {
+        return Integer.bitCount(tiles);
+    }
+
+    /**
+     * @return True if all six tiles have been placed.
+     */
+    public boolean isComplete() {
+        return tiles == Bitboard.ALL_TILES;
+    }
+
+    /**
+     * @param x The x coordinate of a square.
+     * @param y The y coordinate of a square.
+     * @return True if a tile covers the square.
+     */
+    public boolean isOccupied(int x, int y) {
+        return (squares & Bitboard.squareBit(x, y)) != 0;
+    }
+
+    /**
+     * @param x The x coordinate of a location, from 0 to 4.
+     * @param y The y coordinate of a location, from 0 to 3.
+     * @return The state of the location.
+     */
+    public State getLocationState(int x, int y) {
+        int bit = Bitboard.cornerBit(x, y);
+
+        if ((water & bit) != 0) return WATER;
+        if ((red & bit) != 0) return RED;
+        if ((green & bit) != 0) return GREEN;
+        return EMPTY;
+    }
+
+    /**
+     * @return The Zobrist hash of the placed tiles: the XOR of a random key
+     * for the placement of each tile.  Boards with the same tiles placed
+     * have the same hash, whatever order they were placed in.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return The placements of the tiles, packed as for `Bitboard.visitSolutions`,
+     * with NOT_PLACED for each tile which has not been placed.
+     */
+    public long pack() {
+        return placements;
+    }
+
+    public boolean doesPlacementOverlap(int code) {
+        return (squares & Bitboard.SQUARE_MASK[code]) != 0;
+    }
+
+    /**
+     * Evaluate a tile placement, as `Dinosaurs.evaluate` does.
+     *
+     * @param code A placement code (see `Placement`).
+     * @return OK if the placement is valid, or else the first check it fails.
+     */
+    public Verdict evaluate(int code) {
+        if (!Bitboard.ON_BOARD[code]) {
+            return Verdict.OFF_BOARD;
+        }
+        if (doesPlacementOverlap(code)) {
+            return Verdict.OVERLAP;
+        }
+
+        return evaluateFootprint(code);
+    }
+
+    /**
+     * Check the locations under a placement against the board, then the
+     * placement against the objective.
+     *
+     * @param code A placement code (see `Placement`).
+     * @return OK, INCONSISTENT, COLLISION or OBJECTIVE_VIOLATION.
+     */
+    Verdict evaluateFootprint(int code) {
+        return evaluateFootprint(water, red, green, objectiveMask, code);
+    }
+
+    /**
+     * Check the locations under a placement against the masks of a board,
+     * which may be changing in place (see `Bitboard`), then the placement
+     * against the objective.
+     *
+     * @param water         The water on the board, as a corner mask.
+     * @param red           The red dinosaurs on the board.
+     * @param green         The green dinosaurs on the board.
+     * @param objectiveMask The placements which suit the objective.
+     * @param code          A placement code (see `Placement`).
+     * @return OK, INCONSISTENT, COLLISION or OBJECTIVE_VIOLATION.
+     */
+    static Verdict evaluateFootprint(int water, int red, int green, long[] objectiveMask, int code) {
+        if ((water & Bitboard.CORNER_MASK[code]) != Bitboard.WATER_MASK[code]) {
+            return Verdict.INCONSISTENT;
+        }
+        if ((Bitboard.RED_MASK[code] & green) != 0 || (Bitboard.GREEN_MASK[code] & red) != 0) {
+            return Verdict.COLLISION;
+        }
+
+        return (objectiveMask[code >> 6] & (1L << code)) != 0 ? Verdict.OK : Verdict.OBJECTIVE_VIOLATION;
+    }
+
+    /**
+     * Find every valid placement of the tiles which have not been placed,
+     * at once: starting from the placements on the board which suit the
+     * objective, remove those of placed tiles, those covering an occupied
+     * square, and those which clash with the state of each location.
+     *
+     * @return The set of the placements.
+     */
+    public PlacementSet validPlacementsMask() {
+        long[] words = new long[PlacementSet.WORDS];
+
+        for (int i = 0; i < words.length; i++) {
+            words[i] = PlacementSet.ON_BOARD[i] & objectiveMask[i];
+        }
+
+        for (int m = tiles; m != 0; m &= m - 1) {
+            PlacementSet.remove(words, PlacementSet.TILE[Integer.numberOfTrailingZeros(m)]);
+        }
+
+        for (int m = squares; m != 0; m &= m - 1) {
+            PlacementSet.remove(words, PlacementSet.COVERING[Integer.numberOfTrailingZeros(m)]);
+        }
+
+        for (int corner = 0; corner < Location.COUNT; corner++) {
+            int bit = 1 << corner;
+
+            if ((water & bit) != 0) {
+                PlacementSet.remove(words, PlacementSet.LAND_AT[corner]);
+                continue;
+            }
+
+            PlacementSet.remove(words, PlacementSet.WATER_AT[corner]);
+            if ((red & bit) != 0) {
+                PlacementSet.remove(words, PlacementSet.GREEN_AT[corner]);
+            } else if ((green & bit) != 0) {
+                PlacementSet.remove(words, PlacementSet.RED_AT[corner]);
+            }
+        }
+
+        return new PlacementSet(words);
+    }
+
+    /**
+     * Two boards are equal if they have the same objective and the same
+     * tiles placed.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Board b)) {
+            return false;
+        }
+
+        return placements == b.placements && objective == b.objective;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    /**
+     * @return The placements of the tiles, in tile order.
+     */
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+
+        for (int t = 0; t < 6; t++) {
+            int code = getPlacement(t);
+
+            if (code >= 0) {
+                str.append(Placement.toString(code));
+            }
+        }
+
+        return str.toString();
+    }
+}
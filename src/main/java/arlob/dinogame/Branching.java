@@ -0,0 +1,11 @@
+package arlob.dinogame;
+
+/**
+ * How the search for solutions chooses which empty square(s) to try
+ * placing tiles on at each step.
+ */
+public enum Branching {
+    EVERY_SQUARE,            // try every empty square (visits each board once per placement order)
+    FIRST_EMPTY_SQUARE,      // try only the first empty square, in row order
+    MOST_CONSTRAINED_SQUARE  // try only the empty square with the fewest candidate placements
+}
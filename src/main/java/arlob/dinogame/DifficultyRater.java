@@ -0,0 +1,216 @@
+package arlob.dinogame;
+
+import java.util.*;
+
+/**
+ * Rates how hard objectives are by how much effort it takes to solve them,
+ * rather than by where they are in the catalog.
+ * <p>
+ * Each objective is solved from its initial state by an instrumented
+ * search which branches on the most constrained square, with pruning, as
+ * a player would: at each board it tries the candidate placements covering
+ * the empty square with the fewest of them.  A board with only one
+ * candidate is a forced move, and one with none (or which can no longer
+ * satisfy the objective) is a dead end, where a player would have to
+ * backtrack.  The difficulty combines the two things which make a puzzle
+ * hard: how many wrong guesses are made, and how many candidates there are
+ * to choose between at each guess:
+ * <p>
+ * difficulty = log2(1 + dead ends) + (branching factor - 1)
+ * <p>
+ * where the branching factor is the mean number of candidates at the
+ * boards which were not dead ends or solutions.  An objective rates 0 if
+ * the search never had to choose.
+ * <p>
+ * A catalog is rated in parallel, one objective per task, and the ratings
+ * double as a profile of the solver, as each records the time it took.
+ */
+public class DifficultyRater {
+    /* The number of difficulty levels of `Objective.newObjective` */
+    public static final int LEVELS = 4;
+
+    /* The counts kept by `search` */
+    private static final int NODES = 0, SOLUTIONS = 1, FORCED = 2, DEAD_ENDS = 3, BRANCHES = 4;
+
+    private static class Holder {
+        static final Objective[][] BUCKETS = buckets(rate(Objective.getOBJECTIVES()), LEVELS);
+    }
+
+    private DifficultyRater() {
+    }
+
+    /**
+     * The effort it took to solve an objective.
+     */
+    public static class Rating {
+        private final Objective objective;
+        private final int solutions;
+        private final long nodesVisited;
+        private final long forcedMoves;
+        private final long deadEnds;
+        private final long branches;    // the candidates tried, over all boards
+        private final long elapsedNanos;
+
+        Rating(Objective objective, int solutions, long nodesVisited, long forcedMoves, long deadEnds, long branches,
+               long elapsedNanos) {
+            this.objective = objective;
+            this.solutions = solutions;
+            this.nodesVisited = nodesVisited;
+            this.forcedMoves = forcedMoves;
+            this.deadEnds = deadEnds;
+            this.branches = branches;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Objective getObjective() {
+            return objective;
+        }
+
+        public int getSolutions() {
+            return solutions;
+        }
+
+        /**
+         * @return The number of boards visited, including the initial state.
+         */
+        public long getNodesVisited() {
+            return nodesVisited;
+        }
+
+        /**
+         * @return The number of boards with only one candidate placement.
+         */
+        public long getForcedMoves() {
+            return forcedMoves;
+        }
+
+        /**
+         * @return The number of boards, other than solutions, with no
+         * candidate placements.
+         */
+        public long getDeadEnds() {
+            return deadEnds;
+        }
+
+        /**
+         * @return The mean number of candidate placements at the boards with
+         * at least one, or 0 if there are none.
+         */
+        public double getBranchingFactor() {
+            long inner = nodesVisited - deadEnds - solutions;
+
+            return inner > 0 ? (double) branches / inner : 0;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return The difficulty: log2(1 + dead ends) + (branching factor - 1),
+         * or 0 if the search never had to choose.
+         */
+        public double getDifficulty() {
+            double breadth = Math.max(getBranchingFactor() - 1, 0);
+
+            return Math.log1p(deadEnds) / Math.log(2) + breadth;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Problem %d: difficulty %.2f (%d solutions, %d nodes, %d forced, %d dead ends, branching %.2f, %.3f ms)",
+                    objective.getProblemNumber(), getDifficulty(), solutions, nodesVisited, forcedMoves, deadEnds,
+                    getBranchingFactor(), elapsedNanos / 1e6);
+        }
+    }
+
+    /**
+     * Solve an objective from its initial state, counting the effort it takes.
+     *
+     * @param objective An objective.
+     * @return Its rating.
+     */
+    public static Rating rate(Objective objective) {
+        long start = System.nanoTime();
+        Dinosaurs game = new Dinosaurs(objective);
+        game.initializeBoardState(objective.getInitialState());
+
+        Dinosaurs.Undo[] undo = new Dinosaurs.Undo[6];
+        Arrays.setAll(undo, i -> new Dinosaurs.Undo());
+        long[] counts = new long[5];
+
+        search(game, counts, undo);
+
+        return new Rating(objective, (int) counts[SOLUTIONS], counts[NODES], counts[FORCED], counts[DEAD_ENDS],
+                counts[BRANCHES], System.nanoTime() - start);
+    }
+
+    private static void search(Dinosaurs d, long[] counts, Dinosaurs.Undo[] undo) {
+        counts[NODES]++;
+
+        if (d.isComplete()) {
+            counts[SOLUTIONS]++;
+            return;
+        }
+
+        int[] candidates = d.findBranchPlacements(Branching.MOST_CONSTRAINED_SQUARE, true);
+        counts[BRANCHES] += candidates.length;
+
+        if (candidates.length == 0) {
+            counts[DEAD_ENDS]++;
+            return;
+        }
+        if (candidates.length == 1) {
+            counts[FORCED]++;
+        }
+
+        Dinosaurs.Undo u = undo[d.getBoard().size()];
+        for (int code : candidates) {
+            d.apply(Tile.of(code), u);
+            search(d, counts, undo);
+            d.undo(u);
+        }
+    }
+
+    /**
+     * Rate a catalog of objectives in parallel.
+     *
+     * @param catalog The objectives.
+     * @return Their ratings, in the order of the catalog.
+     */
+    public static List<Rating> rate(Objective[] catalog) {
+        return Arrays.stream(catalog).parallel().map(DifficultyRater::rate).toList();
+    }
+
+    /**
+     * Split rated objectives into buckets of (nearly) equal size by
+     * difficulty, the easiest first.  Objectives of equal difficulty are
+     * kept in the order of their ratings.
+     *
+     * @param ratings The ratings of some objectives.
+     * @param levels  The number of buckets.
+     * @return The objectives in each bucket.
+     */
+    public static Objective[][] buckets(List<Rating> ratings, int levels) {
+        List<Rating> sorted = new ArrayList<>(ratings);
+        sorted.sort(Comparator.comparingDouble(Rating::getDifficulty));
+
+        Objective[][] buckets = new Objective[levels][];
+        for (int level = 0; level < levels; level++) {
+            int from = level * sorted.size() / levels, to = (level + 1) * sorted.size() / levels;
+
+            buckets[level] = sorted.subList(from, to).stream().map(Rating::getObjective).toArray(Objective[]::new);
+        }
+
+        return buckets;
+    }
+
+    /**
+     * @return The built-in objectives, in LEVELS buckets by measured
+     * difficulty, which are rated by the first call.  The arrays are copies,
+     * so changing them does not change the buckets.
+     */
+    public static Objective[][] getBuckets() {
+        return Arrays.stream(Holder.BUCKETS).map(Objective[]::clone).toArray(Objective[][]::new);
+    }
+}
@@ -1,10 +1,9 @@
 package arlob.dinogame;
 
 import java.util.*;
-import java.util.stream.IntStream;
-
-import static arlob.dinogame.Orientation.*;
-import static arlob.dinogame.State.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Dinosaurs implements Cloneable {
 
@@ -12,42 +11,19 @@ public class Dinosaurs implements Cloneable {
     private final Objective objective;
 
     /*
-     * States at each of the board's 20 locations (corners), initialized
-     * to represent the empty board.  EMPTY states may be overwritten
+     * The state of the game: the tiles placed, and the states of the
+     * board's 20 locations (corners), which are initially land at the
+     * islands and water everywhere else.  EMPTY states may be overwritten
      * by non-empty states (RED, GREEN), when a tile in that state is
      * placed at the same corner.
      *
-     * Notice that this is initialized with all perimeter states, and
-     * all inner locations that must be water are initialized as water
-     * and all inner locations that must be land are initialized as
-     * empty.
+     * The board is immutable, so placing or removing a tile replaces it,
+     * and clones of the game share it.
      */
-    private State[][] boardstates = {
-            {EMPTY, WATER, EMPTY, WATER, EMPTY},
-            {WATER, EMPTY, WATER, EMPTY, WATER},
-            {EMPTY, WATER, EMPTY, WATER, EMPTY},
-            {WATER, EMPTY, WATER, EMPTY, WATER}
-    };
+    private Board board;
 
-    /*
-     * Tiles occupying the board.   Indices refer to the square
-     * to the lower-right of the given location (remember, locations
-     * refer to corners, not to tiles).   So (0,0) refers to the
-     * square in the top-left corner, (3,0) refers to the sqaure
-     * in the top-right corner, (0,2) refers to the square in the
-     * bottom-left corner, and (3,2) refers to the square in the
-     * bottom-right corner.
-     *
-     * Each entry in the array points to the Tile instance occupying
-     * the square, or null if the square is empty.   Since tiles
-     * are two squares big, each placed tile should have two array
-     * entries referring to it.
-     *
-     * Since this data structure only reflects placed tiles, it is
-     * initially empty (all entries are null).
-     */
-    private Tile[][] tiles = new Tile[3][4];
-    private HashMap<TileType, Tile> tile_list = new HashMap<>();
+    /* The number of slots in the transposition table used when branching on every square */
+    static final int TABLE_CAPACITY = 1 << 16;
 
     /**
      * Construct a game with a given objective
@@ -56,6 +32,7 @@ public class Dinosaurs implements Cloneable {
      */
     public Dinosaurs(Objective objective) {
         this.objective = objective;
+        this.board = Board.empty(objective);
     }
 
     /**
@@ -76,15 +53,7 @@ public class Dinosaurs implements Cloneable {
             d = new Dinosaurs(this.objective);
         }
 
-        d.tile_list = new HashMap<>();
-
-        for (Map.Entry<TileType, Tile> e : this.tile_list.entrySet()) {
-            Tile t = new Tile(e.getValue().toString());
-            d.tile_list.put(t.getTileType(), t);
-        }
-
-        d.tiles = Arrays.stream(this.tiles).map(Tile[]::clone).toArray(Tile[][]::new);
-        d.boardstates = Arrays.stream(this.boardstates).map(State[]::clone).toArray(State[][]::new);
+        /* the board is immutable, so the copy can share it */
 
         return d;
     }
@@ -93,6 +62,15 @@ public class Dinosaurs implements Cloneable {
         return objective;
     }
 
+    /**
+     * @return The current state of the game, which does not change when
+     * tiles are later placed or removed, so it can be handed to other
+     * threads.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
     /**
      * @param boardState A string consisting of 4*N characters, representing
      *                   initial tile placements (initial game state).
@@ -121,6 +99,14 @@ public class Dinosaurs implements Cloneable {
         };
     }
 
+    /**
+     * @param code A placement code (see `Placement`).
+     * @return True if the tile is completely within the board, and false otherwise.
+     */
+    public static boolean isPlacementOnBoard(int code) {
+        return Placement.isOnBoard(code);
+    }
+
 
     /**
      * Add a new tile placement to the board state, updating
@@ -132,86 +118,79 @@ public class Dinosaurs implements Cloneable {
      */
     public void addTileToBoard(String placement) {
         /* create the tile, and figure out its location and orientation */
-        Tile tile = new Tile(placement);
+        Tile tile = Tile.of(placement);
 
-        /* update the tile data structure for the two squares that compose this tile */
-        updateTiles(tile);
-
-        /* update the states for each of the six points on the tile */
-        updateBoardStates(tile);
+        apply(tile, null);
+    }
 
-        tile_list.put(tile.getTileType(), tile);
+    /**
+     * Add a new tile placement to the board state.
+     *
+     * @param code The placement code (see `Placement`) of the placement to add.
+     */
+    public void addTileToBoard(int code) {
+        apply(Tile.of(code), null);
     }
 
     public void updateTileOnBoard(String placement) {
-        Tile new_tile = new Tile(placement);
-        Tile old_tile = tile_list.get(new_tile.getTileType());
-        tile_list.put(new_tile.getTileType(), new_tile);
-
-        removeTile(old_tile);
-
-        updateTiles(new_tile);
-        updateBoardStates(new_tile);
+        apply(Tile.of(placement), null);
     }
 
     /**
-     * Update the tile data structure with a new tile placement.
-     * <p>
-     * Each entry in the data structure corresponds to a square, and
-     * each tile is composed of two squares.   So each time a tile
-     * is added, two entries in the data structure need to be updated
-     * to point to the new tile.
+     * A record of the board before a placement, so that the placement can
+     * be undone.
      * <p>
-     * Squares that are covered by a tile will have their data structure
-     * entry point to the covering tile.
-     * <p>
-     * Squares that are not covered by a tile will point to null.
+     * Records may be reused, so a search can keep one per level rather
+     * than allocating one per placement.
+     */
+    public static final class Undo {
+        private Board board;
+    }
+
+    /**
+     * Place a tile on the board in place, recording what it overwrote so
+     * that it can be undone by `undo`.
      *
-     * @param tile The tile being placed
+     * @param placement The placement to apply.
+     * @return A record of the changes made to the board.
      */
-    private void updateTiles(Tile tile) {
-        Location location = tile.getLocation();
-        Orientation orientation = tile.getOrientation();
-        tiles[location.getY()][location.getX()] = tile;
+    public Undo apply(String placement) {
+        Undo undo = new Undo();
+        apply(Tile.of(placement), undo);
 
-        if (orientation == NORTH || orientation == SOUTH) {
-            tiles[location.getY() + 1][location.getX()] = tile;  // vertical orientation
-        } else {
-            tiles[location.getY()][location.getX() + 1] = tile;  // horizontal orientation
-        }
+        return undo;
     }
 
-    private void removeTile(Tile tile) {
-        Location location = tile.getLocation();
-        Orientation orientation = tile.getOrientation();
-        tiles[location.getY()][location.getX()] = null;
-
-        if (orientation == NORTH || orientation == SOUTH) {
-            tiles[location.getY() + 1][location.getX()] = null;  // vertical orientation
-        } else {
-            tiles[location.getY()][location.getX() + 1] = null;  // horizontal orientation
+    /**
+     * Place a tile on the board in place.
+     *
+     * @param tile The tile being placed.
+     * @param undo A record to fill in with the board before the placement,
+     *             or null if the placement will not be undone.
+     */
+    public void apply(Tile tile, Undo undo) {
+        if (undo != null) {
+            undo.board = board;
         }
 
-        for (int i = 0; i < offsetCount(tile, true); i++) {
-            for (int j = 0; j < offsetCount(tile, false); j++) {
-                State c = getLocationState(tile.getLocation(), j, i);
-                State s = tile.getTileType().stateFromOffset(j, i, tile.getOrientation());
+        /* a tile of the same type which is already on the board is moved */
+        board = board.withPlacement(tile.getCode());
+    }
 
-                if ((c == RED || c == GREEN) && c == s) {
-                    boardstates[tile.getLocation().getY() + i][tile.getLocation().getX() + j] = EMPTY;
-                }
-            }
-        }
+    /**
+     * Undo a placement made by `apply`.  Placements must be undone in the
+     * reverse of the order in which they were applied.
+     *
+     * @param undo The record filled in when the placement was applied.
+     */
+    public void undo(Undo undo) {
+        board = undo.board;
     }
 
     public void removeTile(char tile) {
-        Tile t = tile_list.get(new Tile(tile + "00N").getTileType());
-
-        if (t != null)
-            removeTile(t);
+        board = board.withoutTile(TileType.values()[tile - 'a']);
     }
 
-
     /**
      * Check whether a proposed tile placement overlaps with any previous
      * placements.
@@ -230,49 +209,21 @@ public class Dinosaurs implements Cloneable {
         int y = Character.getNumericValue(placement.charAt(2));
 
         return switch (placement.charAt(3)) {
-            case 'N', 'S' -> tiles[y][x] != null || tiles[y + 1][x] != null;
-            case 'E', 'W' -> tiles[y][x] != null || tiles[y][x + 1] != null;
+            case 'N', 'S' -> board.isOccupied(x, y) || board.isOccupied(x, y + 1);
+            case 'E', 'W' -> board.isOccupied(x, y) || board.isOccupied(x + 1, y);
             default -> false;
         };
     }
 
-
     /**
-     * Update the boardstates data structure due to a valid (correct) new
-     * tile placement.
-     * <p>
-     * Each point in the boardstates data structure corresponds to one of
-     * the twenty board locations, each of which is a place where the corner
-     * of a tile may be placed (see the game description for a diagram, and
-     * more information).
-     * <p>
-     * Each entry in the boardstates data structure is a State, which may
-     * be null (unassigned), WATER, EMPTY, GREEN, or RED.
-     * <p>
-     * When a valid tile placement is made, some locations may change.   For
-     * example null locations may become non-null due to a tile placement,
-     * and some EMPTY locations may become GREEN or RED.
-     * <p>
-     * Notice that when a tile is placed, six locations will change, since
-     * a tile covers two squares, it will affect two locations at each end
-     * and two locations in its middle.  The affected locations will depend
-     * on the location of the tile (its top-left corner), and the tile's
-     * orientation.
-     *
-     * @param tile The tile being placed
+     * @param code The placement code (see `Placement`) of a placement on the board.
+     * @return True if the placement overlaps with the already placed tiles.
      */
-    private void updateBoardStates(Tile tile) {
-        for (int i = 0; i < offsetCount(tile, true); i++) {
-            for (int j = 0; j < offsetCount(tile, false); j++) {
-                State c = getLocationState(tile.getLocation(), j, i);
-
-                if (c == EMPTY || c == null) {
-                    boardstates[tile.getLocation().getY() + i][tile.getLocation().getX() + j] = tile.getTileType().stateFromOffset(j, i, tile.getOrientation());
-                }
-            }
-        }
+    public boolean doesPlacementOverlap(int code) {
+        return board.doesPlacementOverlap(code);
     }
 
+
     /**
      * Given an island location, return its current state.
      * <p>
@@ -291,11 +242,11 @@ public class Dinosaurs implements Cloneable {
      * the given location.
      */
     public State getLocationState(Location location) {
-        return boardstates[location.getY()][location.getX()];
+        return board.getLocationState(location.getX(), location.getY());
     }
 
     public State getLocationState(Location location, int offsetX, int offsetY) {
-        return boardstates[location.getY() + offsetY][location.getX() + offsetX];
+        return board.getLocationState(location.getX() + offsetX, location.getY() + offsetY);
     }
 
     /**
@@ -321,33 +272,27 @@ public class Dinosaurs implements Cloneable {
      * tiles, and False if it is inconsistent.
      */
     public boolean isPlacementConsistent(String placement) {
-        Tile tile = new Tile(placement);
+        Tile tile = Tile.of(placement);
         
         return isPlacementConsistent(tile);
     }
 
     public boolean isPlacementConsistent(Tile tile) {
-        Location tile_loc = tile.getLocation();
-        boolean isConsistent = true;
-
-        for (int i = 0; i < offsetCount(tile, true) * offsetCount(tile, false); i++) {
-            int x = i % offsetCount(tile, false);
-            int y = i / offsetCount(tile, false);
-
-            State s1 = tile.getTileType().stateFromOffset(x, y, tile.getOrientation());
-            State s2 = getLocationState(tile_loc, x, y);
-
-            if ((s1 == WATER && s2 != WATER) || (s1 != WATER && s2 == WATER)) {
-                isConsistent = false;
-                break;
-            }
-        }
+        return evaluateFootprint(tile) != Verdict.INCONSISTENT;
+    }
 
-        return isConsistent;
+    /**
+     * @param code The placement code (see `Placement`) of a placement on the board.
+     * @return True if the placement is consistent with the board and placed tiles.
+     */
+    public boolean isPlacementConsistent(int code) {
+        return isPlacementConsistent(Tile.of(code));
     }
 
     public int offsetCount(Tile tile, boolean isY) {
-        return (isY != (tile.getOrientation() == WEST || tile.getOrientation() == EAST)) ? 3 : 2;
+        TileType.Footprint footprint = tile.getTileType().footprint(tile.getOrientation());
+
+        return isY ? footprint.getHeight() : footprint.getWidth();
     }
 
     /**
@@ -360,36 +305,24 @@ public class Dinosaurs implements Cloneable {
      * between red and green dinosaurs.
      */
     public boolean isPlacementDangerous(String placement) {
-        Tile tile = new Tile(placement);
+        Tile tile = Tile.of(placement);
         
         return isPlacementDangerous(tile);
     }
 
     public boolean isPlacementDangerous(Tile tile) {
-        Location tile_loc = tile.getLocation();
-
-        int count = 0;
-
-        if (!isPlacementConsistent(tile)) {
-            return true;
-        }
+        Verdict verdict = evaluateFootprint(tile);
 
-        for (int i = 0; i < offsetCount(tile, true); i++) {
-            for (int j = 0; j < offsetCount(tile, false); j++) {
-                State s = tile.getTileType().stateFromOffset(j, i, tile.getOrientation());
-                State s2 = getLocationState(tile_loc, j, i);
-
-                if (s == GREEN) {
-                    if (s2 != RED) count++;
-                } else if (s == RED) {
-                    if (s2 != GREEN) count++;
-                } else {
-                    count++;
-                }
-            }
-        }
+        return verdict == Verdict.INCONSISTENT || verdict == Verdict.COLLISION;
+    }
 
-        return count != 6;
+    /**
+     * @param code The placement code (see `Placement`) of a placement on the board.
+     * @return True if the placement is inconsistent, or would cause a collision
+     * between red and green dinosaurs.
+     */
+    public boolean isPlacementDangerous(int code) {
+        return isPlacementDangerous(Tile.of(code));
     }
 
     /**
@@ -406,58 +339,81 @@ public class Dinosaurs implements Cloneable {
      * and false otherwise.
      */
     public boolean violatesObjective(String placement) {
-        String req_conn = this.objective.getConnectedIslands();
-        Tile tile = new Tile(placement);
-
-        if (isPlacementDangerous(tile)) {
-            return true;
-        }
+        return evaluateFootprint(Tile.of(placement)) != Verdict.OK;
+    }
 
-        Location tile_loc = tile.getLocation();
+    /**
+     * @param code The placement code (see `Placement`) of a placement on the board.
+     * @return True if the placement violates the game objective, and false otherwise.
+     */
+    public boolean violatesObjective(int code) {
+        return evaluateFootprint(Tile.of(code)) != Verdict.OK;
+    }
 
-        HashSet<Location> found_land = new HashSet<>();
+    public boolean validPlacement(String placement) {
+        return evaluate(placement) == Verdict.OK;
+    }
 
-        for (int i = 0; i < offsetCount(tile, true); i++) {
-            for (int j = 0; j < offsetCount(tile, false); j++) {
-                State s = tile.getTileType().stateFromOffset(j, i, tile.getOrientation());
+    /**
+     * @param code A placement code (see `Placement`).
+     * @return True if the placement is on the board, does not overlap the
+     * placed tiles and does not violate the objective.
+     */
+    public boolean validPlacement(int code) {
+        return evaluate(code) == Verdict.OK;
+    }
 
-                if (s == RED || s == GREEN) {
-                    found_land.add(new Location(tile_loc.getX() + j, tile_loc.getY() + i));
-                }
-            }
+    /**
+     * Evaluate a tile placement, as validPlacement does, and say why it is
+     * not valid.
+     *
+     * @param placement A string consisting of 4 characters,
+     *                  representing a tile placement
+     * @return The verdict, which is OFF_BOARD if the string is not a
+     * placement on the board.
+     */
+    public Verdict evaluate(String placement) {
+        if (!isPlacementOnBoard(placement)) {
+            return Verdict.OFF_BOARD;
         }
 
-        HashSet<Location> req_land = new HashSet<>();
-
-        int minX = placement.charAt(1) - '0';
-        int maxX = minX + offsetCount(tile, false);
-        int minY = placement.charAt(2) - '0';
-        int maxY = minY + offsetCount(tile, true);
-
-        for (int i = 0; i < req_conn.length(); i += 4) {
-            String isl = req_conn.substring(i, i + 4);
-
-            int x1 = isl.charAt(0) - '0';
-            int y1 = isl.charAt(1) - '0';
-            int x2 = isl.charAt(2) - '0';
-            int y2 = isl.charAt(3) - '0';
-
-            if (x1 >= minX && x1 < maxX && y1 >= minY && y1 < maxY && x2 >= minX && x2 < maxX && y2 >= minY && y2 < maxY) {
-                req_land.add(new Location(x1, y1));
-                req_land.add(new Location(x2, y2));
-            }
+        int code;
+        try {
+            code = Placement.parse(placement);
+        } catch (IllegalArgumentException e) {
+            return Verdict.OFF_BOARD;
         }
 
+        return evaluate(code);
+    }
 
-        if (!found_land.containsAll(req_land)) {
-            return true;
+    /**
+     * Evaluate a tile placement, making each of the checks of validPlacement
+     * in turn, and visiting the locations under the tile only once.
+     *
+     * @param code A placement code (see `Placement`).
+     * @return OK if the placement is valid, or else the first check it fails.
+     */
+    public Verdict evaluate(int code) {
+        if (!isPlacementOnBoard(code)) {
+            return Verdict.OFF_BOARD;
+        }
+        if (doesPlacementOverlap(code)) {
+            return Verdict.OVERLAP;
         }
 
-        return found_land.size() > 1 && !req_land.containsAll(found_land);
+        return evaluateFootprint(Tile.of(code));
     }
 
-    public boolean validPlacement(String placement) {
-        return isPlacementOnBoard(placement) && !doesPlacementOverlap(placement) && !violatesObjective(placement);
+    /**
+     * Check the locations under a tile on the board against the board, then
+     * the tile against the objective.
+     *
+     * @param tile A tile within the board.
+     * @return OK, INCONSISTENT, COLLISION or OBJECTIVE_VIOLATION.
+     */
+    private Verdict evaluateFootprint(Tile tile) {
+        return board.evaluateFootprint(tile.getCode());
     }
 
     /**
@@ -471,69 +427,414 @@ public class Dinosaurs implements Cloneable {
      */
     public Set<String> findCandidatePlacements(Location targetLoc) {
         Set<String> placements = new HashSet<>();
-        String[] tiles = {"a", "b", "c", "d", "e", "f"};
-        String[] orientations = {"N", "E", "S", "W"};
 
-        String loc = targetLoc.getX() + "" + targetLoc.getY();
+        for (int code : findCandidatePlacementCodes(targetLoc)) {
+            placements.add(Placement.toString(code));
+        }
 
-        IntStream.range(0, tiles.length)
-            .forEach(i -> {
-                String tile = tiles[i];
-                for (String orientation : orientations) {
-                    String placement = tile + loc + orientation;
+        return placements;
+    }
 
-                    if (validPlacement(placement) && !tile_list.containsKey(TileType.valueOf(tile.toUpperCase()))) {
-                        placements.add(placement);
-                    }
-                }
-            });
+    /**
+     * Find the candidate placements at a location, as in
+     * findCandidatePlacements, as placement codes.
+     *
+     * @param targetLoc A location (x,y) of a square of the game board.
+     * @return The placement codes of the candidates, in increasing order.
+     */
+    public int[] findCandidatePlacementCodes(Location targetLoc) {
+        return validPlacementsMask().at(targetLoc.getX(), targetLoc.getY()).toArray();
+    }
 
-        return placements;
+    /**
+     * Find every valid placement (as in validPlacement) of the tiles which
+     * have not been placed, at once: starting from the placements on the
+     * board which suit the objective, remove those of placed tiles, those
+     * covering an occupied square, and those which clash with the state of
+     * each location.
+     *
+     * @return The set of the placements.
+     */
+    public PlacementSet validPlacementsMask() {
+        return board.validPlacementsMask();
     }
 
     public String toString() {
-        StringBuilder str = new StringBuilder();
+        return board.toString();
+    }
 
-        tile_list.values().stream().sorted().forEach(str::append);
+    /**
+     * @return The Zobrist hash of the placed tiles.  Games with the same
+     * tiles placed have the same hash, whatever order they were placed in.
+     */
+    public long getHash() {
+        return board.getHash();
+    }
 
-        return str.toString();
+    /**
+     * Two games are equal if they have the same objective and the same
+     * tiles placed.  The hashes are compared first, so unequal games are
+     * almost always told apart without looking at the tiles.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Dinosaurs d)) {
+            return false;
+        }
+
+        return board.getHash() == d.board.getHash() && board.equals(d.board);
+    }
+
+    @Override
+    public int hashCode() {
+        return board.hashCode();
     }
 
     /**
      * Find the solutions to the game (the current Dinosaurs object).
+     * <p>
+     * The solutions of the built-in objectives are read from the precomputed
+     * `SolutionTable`.  Otherwise they are looked up in the `SolutionIndex`
+     * of every legal full board, or, for an objective which cannot be looked
+     * up, searched for in parallel on the common fork/join pool, see
+     * `ParallelSolver`.  Either way they are returned in lexicographic order,
+     * so the same game always gives the same first solution.
      *
      * @return A set of strings, each representing a placement of all tiles,
      * which satisfies all of the game objectives.
      */
 
     public Set<String> getSolutions() {
-        Set<String> sols = Collections.synchronizedSet(new LinkedHashSet<>());
+        Set<String> sols = SolutionTable.getInstance().getSolutions(this);
 
-        recsol(this, sols);
+        return sols != null ? sols : getSolutions(new IndexSolver());
+    }
+
+    /**
+     * Find the solutions to the game, choosing the squares to branch on
+     * during the search in a particular way.
+     *
+     * @param branching How to choose the squares to branch on.
+     * @return A set of strings, each representing a placement of all tiles,
+     * which satisfies all of the game objectives.
+     */
+    public Set<String> getSolutions(Branching branching) {
+        return getSolutions(new BacktrackingSolver(branching));
+    }
+
+    /**
+     * Find the solutions to the game using a particular solver.
+     *
+     * @param solver The solver to use, for example an `ExactCoverSolver`.
+     * @return A set of strings, each representing a placement of all tiles,
+     * which satisfies all of the game objectives.
+     */
+    public Set<String> getSolutions(Solver solver) {
+        return solver.getSolutions(this);
+    }
+
+    /**
+     * Count the solutions to the game, without building them.
+     *
+     * @return The number of solutions, the same as getSolutions().size().
+     */
+    public long countSolutions() {
+        return new Bitboard(board).countSolutions();
+    }
+
+    /**
+     * Count the solutions to the game, stopping the search as soon as a
+     * given number of them have been found.
+     *
+     * @param limit The number of solutions to stop at.
+     * @return The number of solutions, or limit if there are at least that many.
+     */
+    public long countSolutionsUpTo(long limit) {
+        return new Bitboard(board).countSolutions(limit);
+    }
+
+    /**
+     * Find up to a given number of solutions to the game, stopping the
+     * search as soon as that many have been found.  Which of the solutions
+     * are returned, when there are more, depends on the order of the search.
+     *
+     * @param limit The number of solutions to stop at.
+     * @return All of the solutions if there are fewer than limit, or else
+     * limit of them, in lexicographic order.
+     */
+    public Set<String> solutionsUpTo(int limit) {
+        Set<String> sols = new TreeSet<>();
+        new Bitboard(board).visitSolutions(sol -> sols.add(Bitboard.solutionToString(sol)), limit);
 
         return sols;
     }
 
-    private void recsol(Dinosaurs d, Set<String> sols) {
-        if (d.tile_list.size() == 6) {
+    /**
+     * Check whether the game has exactly one solution, without finding all
+     * of them: the search stops as soon as a second solution is found.
+     *
+     * @return True if the game has a unique solution.
+     */
+    public boolean hasUniqueSolution() {
+        return countSolutionsUpTo(2) == 1;
+    }
+
+    /**
+     * Find the solution to the game if it is the only one, with the same
+     * search as hasUniqueSolution(), which stops as soon as a second
+     * solution is found.
+     *
+     * @return The solution, packed into a long (see `SolutionVisitor`), or
+     * nothing if the game has no solution or more than one.
+     */
+    public OptionalLong findUniqueSolution() {
+        long[] found = new long[1];
+
+        return new Bitboard(board).visitSolutions(sol -> found[0] = sol, 2) == 1 ? OptionalLong.of(found[0]) : OptionalLong.empty();
+    }
+
+    /**
+     * Find the solutions to the game, handing each of them to a visitor as
+     * it is found, packed into a long (see `SolutionVisitor`).  Unlike
+     * getSolutions(), nothing is allocated for each solution.
+     *
+     * @param visitor The visitor to hand the solutions to.
+     */
+    public void visitSolutions(SolutionVisitor visitor) {
+        new Bitboard(board).visitSolutions(visitor);
+    }
+
+    /**
+     * Lazily find the solutions to the game.  Each solution is only searched
+     * for when the stream gets to it, so short-circuiting operations such as
+     * `findFirst` or `anyMatch` stop the search early.
+     *
+     * @return A stream of strings, each representing a placement of all tiles,
+     * which satisfies all of the game objectives.
+     */
+    public Stream<String> solutions() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(solutionIterator(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @return An iterator which lazily finds the solutions to the game.
+     */
+    public Iterator<String> solutionIterator() {
+        return new SolutionIterator(this);
+    }
+
+    /**
+     * Find a single solution to the game, reading it from the precomputed
+     * `SolutionTable` for a built-in objective, or otherwise stopping the
+     * search as soon as it is found.
+     *
+     * @return The first solution found, or nothing if the game has no solution.
+     */
+    public Optional<String> findFirstSolution() {
+        Set<String> sols = SolutionTable.getInstance().getSolutions(this);
+
+        return sols != null ? sols.stream().findFirst() : solutions().findFirst();
+    }
+
+    /**
+     * Check whether a placement of all tiles is a solution to the game,
+     * extending the tiles which have already been placed; that is, whether
+     * it is one of the strings returned by getSolutions(), without having
+     * to search for them.
+     *
+     * @param solution A string consisting of 4*6 characters, representing
+     *                 a placement of all tiles.
+     * @return True if the placement is a solution.
+     */
+    public boolean isSolution(String solution) {
+        if (solution.length() != 24) {
+            return false;
+        }
+
+        Dinosaurs d = clone();
+
+        for (int i = 0; i < solution.length(); i += 4) {
+            String placement = solution.substring(i, i + 4);
+            int placed = board.getPlacement(Tile.of(placement).getTileType());
+
+            if (placed >= 0) {
+                if (!Placement.toString(placed).equals(placement)) {
+                    return false;
+                }
+            } else if (d.evaluate(placement).isValid()) {
+                d.addTileToBoard(placement);
+            } else {
+                return false;
+            }
+        }
+
+        return d.isComplete();
+    }
+
+    /**
+     * Search for the solutions which extend this board, adding them to a
+     * set, and counting the number of boards (search nodes) visited along
+     * the way.
+     * <p>
+     * Tiles are applied to and undone on this board, with one undo record
+     * per level of the search, so the board is unchanged afterwards, but
+     * it must not be used by any other thread during the search.
+     * <p>
+     * When branching on every square, the same board is reached once for
+     * every order in which its tiles can be placed, so the boards which have
+     * been fully explored are kept in a transposition table, and are not
+     * searched again.
+     *
+     * @param sols      The set to add the solutions to.
+     * @param branching How to choose the squares to branch on.
+     * @param pruning   Whether to cut off boards which can no longer satisfy
+     *                  the objective (see canSatisfyObjective).
+     * @param nodes     Incremented once for every board visited.
+     */
+    void search(Set<String> sols, Branching branching, boolean pruning, LongAdder nodes) {
+        search(sols, branching, pruning, branching == Branching.EVERY_SQUARE, nodes);
+    }
+
+    /**
+     * Search for the solutions which extend this board, as above, choosing
+     * whether to keep the explored boards in a transposition table, so that
+     * the search with and without one can be compared.
+     *
+     * @param sols      The set to add the solutions to.
+     * @param branching How to choose the squares to branch on.
+     * @param pruning   Whether to cut off boards which can no longer satisfy
+     *                  the objective (see canSatisfyObjective).
+     * @param memoising Whether to skip boards which have already been explored.
+     * @param nodes     Incremented once for every board visited.
+     */
+    void search(Set<String> sols, Branching branching, boolean pruning, boolean memoising, LongAdder nodes) {
+        Undo[] undo = new Undo[6];
+        Arrays.setAll(undo, i -> new Undo());
+        TranspositionTable table = memoising ? new TranspositionTable(TABLE_CAPACITY) : null;
+
+        recsol(this, sols, branching, pruning, table, nodes, undo);
+    }
+
+    private void recsol(Dinosaurs d, Set<String> sols, Branching branching, boolean pruning,
+                        TranspositionTable table, LongAdder nodes, Undo[] undo) {
+        nodes.increment();
+
+        if (d.isComplete()) {
             sols.add(d.toString());
             return;
         }
 
-        IntStream.range(0, 3).parallel().forEach(i -> {
+        /* the solutions below an explored board are already in sols */
+        if (table != null && table.contains(d.getHash(), d.board.pack())) {
+            return;
+        }
+
+        Undo u = undo[d.board.size()];
+
+        for (int code : d.findBranchPlacements(branching, pruning)) {
+            d.apply(Tile.of(code), u);
+            recsol(d, sols, branching, pruning, table, nodes, undo);
+            d.undo(u);
+        }
+
+        if (table != null) {
+            table.add(d.getHash(), d.board.pack());
+        }
+    }
+
+    /**
+     * @return True if all six tiles have been placed.
+     */
+    boolean isComplete() {
+        return board.isComplete();
+    }
+
+    /**
+     * Check whether every required island connection of the objective can
+     * still be made.  A connection is made by the tile covering the square
+     * between its two islands, so each connection whose square is still
+     * empty needs at least one candidate placement (as in
+     * findCandidatePlacements) covering that square.
+     * <p>
+     * Unlike violatesObjective, which only looks at the tile being placed,
+     * this notices when the tiles already placed have made a connection
+     * impossible, so that the search can give up on the board straight away.
+     *
+     * @return False if some required connection can no longer be made.
+     */
+    public boolean canSatisfyObjective() {
+        return canSatisfyObjective(validPlacementsMask());
+    }
+
+    private boolean canSatisfyObjective(PlacementSet valid) {
+        for (int open = this.objective.getRequiredSquares(); open != 0; open &= open - 1) {
+            int square = Integer.numberOfTrailingZeros(open);
+            int x = square % 4, y = square / 4;
+
+            if (!board.isOccupied(x, y) && valid.covering(x, y).isEmpty()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Find the placements to try next when searching for solutions.
+     * <p>
+     * Every solution must cover every square, so apart from EVERY_SQUARE
+     * it is enough to try each of the placements which cover a single empty
+     * square.  This way each board is visited only once, rather than once
+     * for every order in which its tiles could have been placed.
+     *
+     * @param branching How to choose the squares to branch on.
+     * @param pruning   Whether to try nothing at all if the board can no
+     *                  longer satisfy the objective (see canSatisfyObjective).
+     * @return The placement codes of the candidate placements to try.
+     */
+    int[] findBranchPlacements(Branching branching, boolean pruning) {
+        PlacementSet valid = validPlacementsMask();
+
+        if (pruning && !canSatisfyObjective(valid)) {
+            return new int[0];
+        }
+
+        int[] candidates = new int[0];
+        int[] fewest = null;
+
+        for (int i = 0; i < 3; i++) {
             for (int j = 0; j < 4; j++) {
-                if (d.tiles[i][j] != null) {
+                if (board.isOccupied(j, i)) {
                     continue;
                 }
 
-                Location l = new Location(j, i);
+                switch (branching) {
+                    case EVERY_SQUARE -> {
+                        int[] c = valid.at(j, i).toArray();
+                        int n = candidates.length;
+
+                        candidates = Arrays.copyOf(candidates, n + c.length);
+                        System.arraycopy(c, 0, candidates, n, c.length);
+                    }
+                    case FIRST_EMPTY_SQUARE -> {
+                        /* every square before this one is covered, so the tile covering it must start here */
+                        return valid.at(j, i).toArray();
+                    }
+                    case MOST_CONSTRAINED_SQUARE -> {
+                        int[] c = valid.covering(j, i).toArray();
 
-                for (String t : d.findCandidatePlacements(l)) {
-                    Dinosaurs d_local = d.clone();
-                    d_local.addTileToBoard(t);
-                    recsol(d_local, sols);
+                        if (fewest == null || c.length < fewest.length) {
+                            fewest = c;
+                        }
+                    }
                 }
             }
-        });
+        }
+
+        return fewest != null ? fewest : candidates;
     }
 }
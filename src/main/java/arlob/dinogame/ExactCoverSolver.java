@@ -0,0 +1,337 @@
+package arlob.dinogame;
+
+import java.util.*;
+
+/**
+ * A solver which treats the puzzle as an exact cover problem, and solves
+ * it with Dancing Links (Knuth's Algorithm C, "exact covering with colors").
+ * <p>
+ * Every valid placement of an unplaced tile is a row, covering:
+ * <p>
+ * - the two squares under the tile (primary items, each of the empty squares
+ * must be covered exactly once),
+ * - the tile itself (a primary item, each unplaced tile must be placed
+ * exactly once), and
+ * - the locations of its dinosaurs (secondary items, colored RED or GREEN).
+ * <p>
+ * Two rows may share a secondary item only if they give it the same color,
+ * which is how collisions between red and green dinosaurs are ruled out.  The
+ * island rules of the objective, and the land and water of the board, only
+ * depend on a placement itself, so placements which break them never become
+ * rows.
+ */
+public class ExactCoverSolver implements Solver {
+
+    /* Colors of the secondary items (0 means no color) */
+    private static final int RED = 1;
+    private static final int GREEN = 2;
+
+    @Override
+    public Set<String> getSolutions(Dinosaurs game) {
+        String placed = game.toString();
+        int[] placements = {-1, -1, -1, -1, -1, -1};
+        int squares = 0;
+
+        for (int i = 0; i < placed.length(); i += 4) {
+            int code = Placement.parse(placed.substring(i, i + 4));
+            placements[code / 48] = code;
+            squares |= Bitboard.SQUARE_MASK[code];
+        }
+
+        List<Integer> rows = new ArrayList<>();
+
+        for (int code = 0; code < Bitboard.PLACEMENTS; code++) {
+            if (placements[code / 48] < 0 && Placement.isOnBoard(code)
+                    && game.validPlacement(code)) {
+                rows.add(code);
+            }
+        }
+
+        Set<String> sols = new LinkedHashSet<>();
+        new Links(placements, squares, rows).search(0, sols);
+
+        return sols;
+    }
+
+    /**
+     * The dancing links data structure for a single solve.
+     * <p>
+     * Items are numbered from 1: first the empty squares and unplaced tiles
+     * (primary), then the twenty locations (secondary).  Nodes 0 to items are
+     * the item headers, followed by the rows, each preceded by a spacer node.
+     * As in Knuth's description, the `top` of an item header holds the number
+     * of nodes currently in the item's list.
+     */
+    private static class Links {
+        private final int[] llink;
+        private final int[] rlink;
+        private final int[] top;
+        private final int[] ulink;
+        private final int[] dlink;
+        private final int[] color;
+        private final int[] row;       // the placement code of the row of each node
+
+        private final int[] placements;
+        private final int[] chosen = new int[6];
+
+        Links(int[] placements, int squares, List<Integer> rows) {
+            this.placements = placements;
+
+            /* number the items */
+            int[] squareItem = new int[12];
+            int[] tileItem = new int[6];
+            int primary = 0;
+
+            for (int s = 0; s < 12; s++) {
+                if ((squares & (1 << s)) == 0) {
+                    squareItem[s] = ++primary;
+                }
+            }
+            for (int t = 0; t < 6; t++) {
+                if (placements[t] < 0) {
+                    tileItem[t] = ++primary;
+                }
+            }
+
+            int items = primary + 20;
+            int nodes = items + 2;
+
+            for (int code : rows) {
+                nodes += 4 + Integer.bitCount(Bitboard.RED_MASK[code] | Bitboard.GREEN_MASK[code]);
+            }
+
+            llink = new int[items + 2];
+            rlink = new int[items + 2];
+            top = new int[nodes];
+            ulink = new int[nodes];
+            dlink = new int[nodes];
+            color = new int[nodes];
+            row = new int[nodes];
+
+            /* primary items form a circular list headed by 0, secondary items one headed by items + 1 */
+            for (int i = 0; i <= items + 1; i++) {
+                llink[i] = i - 1;
+                rlink[i] = i + 1;
+            }
+            llink[0] = primary;
+            rlink[primary] = 0;
+            llink[primary + 1] = items + 1;
+            rlink[items + 1] = primary + 1;
+            llink[items + 1] = items;
+            rlink[items] = items + 1;
+
+            for (int i = 1; i <= items; i++) {
+                ulink[i] = i;
+                dlink[i] = i;
+            }
+
+            /* append the rows, each preceded by a spacer */
+            int spacer = items + 1;
+
+            for (int code : rows) {
+                int first = spacer + 1;
+                int p = first;
+                int s1 = Integer.numberOfTrailingZeros(Bitboard.SQUARE_MASK[code]);
+                int s2 = 31 - Integer.numberOfLeadingZeros(Bitboard.SQUARE_MASK[code]);
+
+                p = append(p, squareItem[s1], 0, code);
+                p = append(p, squareItem[s2], 0, code);
+                p = append(p, tileItem[code / 48], 0, code);
+
+                for (int c = 0; c < 20; c++) {
+                    if ((Bitboard.RED_MASK[code] & (1 << c)) != 0) {
+                        p = append(p, primary + 1 + c, RED, code);
+                    } else if ((Bitboard.GREEN_MASK[code] & (1 << c)) != 0) {
+                        p = append(p, primary + 1 + c, GREEN, code);
+                    }
+                }
+
+                dlink[spacer] = p - 1;
+                top[p] = top[spacer] - 1;
+                ulink[p] = first;
+                spacer = p;
+            }
+
+            dlink[spacer] = 0;
+        }
+
+        private int append(int p, int item, int c, int code) {
+            top[p] = item;
+            color[p] = c;
+            row[p] = code;
+
+            ulink[p] = ulink[item];
+            dlink[p] = item;
+            dlink[ulink[item]] = p;
+            ulink[item] = p;
+            top[item]++;
+
+            return p + 1;
+        }
+
+        void search(int level, Set<String> sols) {
+            if (rlink[0] == 0) {
+                sols.add(solution(level));
+                return;
+            }
+
+            /* branch on the primary item with the fewest remaining options */
+            int best = rlink[0];
+            for (int i = rlink[best]; i != 0; i = rlink[i]) {
+                if (top[i] < top[best]) {
+                    best = i;
+                }
+            }
+
+            if (top[best] == 0) {
+                return;
+            }
+
+            cover(best);
+
+            for (int x = dlink[best]; x != best; x = dlink[x]) {
+                for (int p = x + 1; p != x; ) {
+                    int j = top[p];
+                    if (j <= 0) {
+                        p = ulink[p];
+                    } else {
+                        commit(p, j);
+                        p++;
+                    }
+                }
+
+                chosen[level] = row[x];
+                search(level + 1, sols);
+
+                for (int p = x - 1; p != x; ) {
+                    int j = top[p];
+                    if (j <= 0) {
+                        p = dlink[p];
+                    } else {
+                        uncommit(p, j);
+                        p--;
+                    }
+                }
+            }
+
+            uncover(best);
+        }
+
+        private String solution(int level) {
+            int[] all = placements.clone();
+
+            for (int i = 0; i < level; i++) {
+                all[chosen[i] / 48] = chosen[i];
+            }
+
+            StringBuilder str = new StringBuilder();
+            for (int code : all) {
+                str.append(Placement.toString(code));
+            }
+
+            return str.toString();
+        }
+
+        private void cover(int i) {
+            for (int p = dlink[i]; p != i; p = dlink[p]) {
+                hide(p);
+            }
+
+            int l = llink[i];
+            int r = rlink[i];
+            rlink[l] = r;
+            llink[r] = l;
+        }
+
+        private void uncover(int i) {
+            int l = llink[i];
+            int r = rlink[i];
+            rlink[l] = i;
+            llink[r] = i;
+
+            for (int p = ulink[i]; p != i; p = ulink[p]) {
+                unhide(p);
+            }
+        }
+
+        private void hide(int p) {
+            for (int q = p + 1; q != p; ) {
+                int x = top[q];
+                int u = ulink[q];
+                int d = dlink[q];
+
+                if (x <= 0) {
+                    q = u;
+                } else if (color[q] < 0) {
+                    q++;
+                } else {
+                    dlink[u] = d;
+                    ulink[d] = u;
+                    top[x]--;
+                    q++;
+                }
+            }
+        }
+
+        private void unhide(int p) {
+            for (int q = p - 1; q != p; ) {
+                int x = top[q];
+                int u = ulink[q];
+                int d = dlink[q];
+
+                if (x <= 0) {
+                    q = d;
+                } else if (color[q] < 0) {
+                    q--;
+                } else {
+                    dlink[u] = q;
+                    ulink[d] = q;
+                    top[x]++;
+                    q--;
+                }
+            }
+        }
+
+        private void commit(int p, int j) {
+            if (color[p] == 0) {
+                cover(j);
+            } else if (color[p] > 0) {
+                purify(p);
+            }
+        }
+
+        private void uncommit(int p, int j) {
+            if (color[p] == 0) {
+                uncover(j);
+            } else if (color[p] > 0) {
+                unpurify(p);
+            }
+        }
+
+        private void purify(int p) {
+            int c = color[p];
+            int i = top[p];
+
+            for (int q = dlink[i]; q != i; q = dlink[q]) {
+                if (color[q] == c) {
+                    color[q] = -1;
+                } else {
+                    hide(q);
+                }
+            }
+        }
+
+        private void unpurify(int p) {
+            int c = color[p];
+            int i = top[p];
+
+            for (int q = ulink[i]; q != i; q = ulink[q]) {
+                if (color[q] < 0) {
+                    color[q] = c;
+                } else {
+                    unhide(q);
+                }
+            }
+        }
+    }
+}
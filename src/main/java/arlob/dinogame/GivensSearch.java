@@ -0,0 +1,181 @@
+package arlob.dinogame;
+
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A search for the smallest initial states (sets of given tiles) which
+ * make the solution of a set of connections unique, to build variants of
+ * an objective.
+ * <p>
+ * Rather than solving the game afresh for each candidate set of givens,
+ * the solutions of the connections are found once, on the empty board.
+ * Any set of givens with a solution is part of some solution T, and its
+ * solutions are exactly those which agree with T on every given tile, so
+ * it makes T unique if, for every other solution U, it gives one of the
+ * tiles on which T and U differ.  A set of givens from T is held as a mask
+ * with one bit per tile type (tile 'a' lowest), so all 64 of them are
+ * checked against each U at once: those which give none of the tiles on
+ * which they differ are the subsets of the tiles on which they agree.
+ * The solutions are taken as T in parallel.
+ */
+public class GivensSearch {
+    /* The masks which are subsets of each mask, one bit per mask */
+    private static final long[] SUBSETS = new long[64];
+
+    static {
+        for (int mask = 0; mask < 64; mask++) {
+            for (int sub = 0; sub < 64; sub++) {
+                if ((sub & ~mask) == 0) {
+                    SUBSETS[mask] |= 1L << sub;
+                }
+            }
+        }
+    }
+
+    private final Objective objective;
+    private final long[] solutions;
+
+    /* For each solution, the sets of its tiles which make it unique, one bit per mask */
+    private final long[] unique;
+
+    /**
+     * Find the solutions of the connections of an objective, and the sets
+     * of givens which make each of them unique.
+     *
+     * @param objective An objective, whose initial state is ignored.
+     */
+    public GivensSearch(Objective objective) {
+        this.objective = new Objective(objective.getConnectedIslands(), "", objective.getProblemNumber());
+
+        LongStream.Builder found = LongStream.builder();
+        new Bitboard(Board.empty(this.objective)).visitSolutions(found::add);
+        solutions = found.build().toArray();
+
+        unique = IntStream.range(0, solutions.length).parallel().mapToLong(this::uniqueGivens).toArray();
+    }
+
+    /**
+     * @param i The index of a solution.
+     * @return The sets of its tiles which make it unique, one bit per mask.
+     */
+    private long uniqueGivens(int i) {
+        long ambiguous = 0;
+
+        for (int j = 0; j < solutions.length; j++) {
+            if (j != i) {
+                ambiguous |= SUBSETS[agreement(solutions[i], solutions[j])];
+            }
+        }
+
+        return ~ambiguous;
+    }
+
+    /**
+     * @return The tiles on which two solutions agree, one bit per tile type.
+     */
+    private static int agreement(long a, long b) {
+        int mask = 0;
+
+        for (TileType tile : TileType.values()) {
+            if (Bitboard.getPlacement(a, tile) == Bitboard.getPlacement(b, tile)) {
+                mask |= 1 << tile.ordinal();
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * @return The number of solutions of the connections, with no tiles given.
+     */
+    public int getSolutionCount() {
+        return solutions.length;
+    }
+
+    /**
+     * @return The smallest number of givens which make the solution unique,
+     * or -1 if the connections have no solution.
+     */
+    public int getMinimumSize() {
+        int min = -1;
+
+        for (long masks : unique) {
+            for (int mask = 0; mask < 64; mask++) {
+                if ((masks & (1L << mask)) != 0 && (min < 0 || Integer.bitCount(mask) < min)) {
+                    min = Integer.bitCount(mask);
+                }
+            }
+        }
+
+        return min;
+    }
+
+    /**
+     * @return The variants of the objective whose initial states are the
+     * smallest sets of givens which make the solution unique, in order of
+     * initial state.
+     */
+    public List<Objective> minimal() {
+        int size = getMinimumSize();
+
+        return size < 0 ? new ArrayList<>() : withGivens(size);
+    }
+
+    /**
+     * Find the sets of givens of a size which make the solution unique, and
+     * which have no smaller subset which does, so that every given is needed.
+     *
+     * @param size The number of givens, from 0 to 6.
+     * @return The variants of the objective with those initial states, in
+     * order of initial state.
+     */
+    public List<Objective> withGivens(int size) {
+        SortedSet<String> states = new TreeSet<>();
+
+        for (int i = 0; i < solutions.length; i++) {
+            for (int mask = 0; mask < 64; mask++) {
+                if (Integer.bitCount(mask) == size && isMinimal(unique[i], mask)) {
+                    states.add(givens(solutions[i], mask));
+                }
+            }
+        }
+
+        List<Objective> variants = new ArrayList<>();
+        for (String state : states) {
+            variants.add(new Objective(objective.getConnectedIslands(), state, objective.getProblemNumber()));
+        }
+
+        return variants;
+    }
+
+    private static boolean isMinimal(long unique, int mask) {
+        if ((unique & (1L << mask)) == 0) {
+            return false;
+        }
+
+        for (int rest = mask; rest != 0; rest &= rest - 1) {
+            if ((unique & (1L << (mask & ~Integer.lowestOneBit(rest)))) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The placements of the tiles of a mask in a solution, in tile order.
+     */
+    private static String givens(long solution, int mask) {
+        StringBuilder state = new StringBuilder();
+
+        for (TileType tile : TileType.values()) {
+            if ((mask & (1 << tile.ordinal())) != 0) {
+                state.append(Placement.toString(Bitboard.getPlacement(solution, tile)));
+            }
+        }
+
+        return state.toString();
+    }
+}
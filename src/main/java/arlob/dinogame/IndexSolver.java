@@ -0,0 +1,36 @@
+package arlob.dinogame;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A solver which looks the solutions up in the `SolutionIndex`, and only
+ * searches for them when the objective cannot be looked up.
+ */
+public class IndexSolver implements Solver {
+    private final Solver fallback;
+
+    /**
+     * Construct a solver which falls back on an ordered `ParallelSolver`
+     * on the common pool, as `Dinosaurs.getSolutions()` used to search.
+     */
+    public IndexSolver() {
+        this(new ParallelSolver(ForkJoinPool.commonPool(), ParallelSolver.DEFAULT_SPLIT_DEPTH, true));
+    }
+
+    /**
+     * @param fallback The solver to use for objectives without a key.
+     */
+    public IndexSolver(Solver fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Set<String> getSolutions(Dinosaurs game) {
+        if (SolutionIndex.key(game.getObjective()) < 0) {
+            return fallback.getSolutions(game);
+        }
+
+        return SolutionIndex.getInstance().getSolutions(game);
+    }
+}
@@ -1,10 +1,28 @@
 package arlob.dinogame;
 
+/**
+ * A location (corner) of the board, from (0,0) to (4,3), or a location off
+ * the board.  The twenty locations of the board are shared instances, which
+ * `of` returns, and each has a dense index (y * 5 + x, as for the corner
+ * masks of `Bitboard`), which is also its hash code.  Locations off the
+ * board hash to COUNT or more, so they never collide with one on it.
+ */
 public class Location {
     private final int X;
     private final int Y;
     static final int OUT = -1;
 
+    /* The number of locations of the board */
+    public static final int COUNT = 20;
+
+    private static final Location[] LOCATIONS = new Location[COUNT];
+
+    static {
+        for (int index = 0; index < COUNT; index++) {
+            LOCATIONS[index] = new Location(index % 5, index / 5);
+        }
+    }
+
     public Location(int X, int Y) {
         this.X = X;
         this.Y = Y;
@@ -15,6 +33,27 @@ public class Location {
         this.Y = OUT;
     }
 
+    /**
+     * @param X The x coordinate.
+     * @param Y The y coordinate.
+     * @return The shared location, or a new location if it is not on the board.
+     */
+    public static Location of(int X, int Y) {
+        return isOnBoard(X, Y) ? LOCATIONS[Y * 5 + X] : new Location(X, Y);
+    }
+
+    /**
+     * @param index The index of a location of the board, from 0 to 19.
+     * @return The shared location.
+     */
+    public static Location of(int index) {
+        return LOCATIONS[index];
+    }
+
+    private static boolean isOnBoard(int X, int Y) {
+        return X >= 0 && X < 5 && Y >= 0 && Y < 4;
+    }
+
     public int getX() {
         return X;
     }
@@ -23,6 +62,13 @@ public class Location {
         return Y;
     }
 
+    /**
+     * @return The index of the location, from 0 to 19, or -1 if it is not on the board.
+     */
+    public int getIndex() {
+        return isOnBoard(X, Y) ? Y * 5 + X : -1;
+    }
+
     @Override
     public String toString() {
         return this.X + this.Y + "";
@@ -37,6 +83,7 @@ public class Location {
     }
 
     public int hashCode() {
-        return (int) (1000 * ((float) this.X / this.Y));
+        /* locations off the board hash above the indices of those on it */
+        return isOnBoard(X, Y) ? Y * 5 + X : COUNT + Math.floorMod(31 * X + Y, Integer.MAX_VALUE - COUNT + 1);
     }
 }
@@ -1,6 +1,9 @@
 package arlob.dinogame;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 /**
  * An objective defines what the player must attempt to solve.   It is expressed
@@ -79,6 +82,29 @@ public class Objective {
     private final String connectedIslands;    // The pairs of islands that must be connected
     private final String initialState;        // The list of initial tile placements
 
+    /* The number of islands, which are the locations (x,y) of the board where x + y is even */
+    public static final int ISLANDS = 10;
+
+    /*
+     * The connections, compiled once from connectedIslands: row i of the
+     * island matrix has bit j set if islands i and j must be connected,
+     * where the island at (x,y) is numbered (y * 5 + x) / 2.  Connections
+     * which are not between two islands are kept as corner masks (see
+     * `Bitboard`) in otherPairs.
+     */
+    private final int[] islandMatrix = new int[ISLANDS];
+    private final int[] otherPairs;
+
+    /* The squares whose land diagonal must, or must not, connect its two islands */
+    private final int requiredSquares;
+    private final int forbiddenSquares;
+
+    /* True if every connection is the land diagonal of a square */
+    private final boolean diagonal;
+
+    /* The placements compatible with the connections (see `getPlacementMask`), computed when first needed */
+    private volatile long[] placementMask;
+
     /**
      * This array defines a set of 80 pre-defined puzzle objectives.
      * <p>
@@ -346,14 +372,194 @@ public class Objective {
      *                      be connected.
      * @param initialState  A string representing the list of initial tile placements
      * @param problemNumber The problem number from the original board game,
-     *                      a value from 1 to 80.
+     *                      a value from 1 to 80, or above 80 for a generated
+     *                      objective (see `ObjectiveGenerator`).
      */
     public Objective(String connected, String initialState, int problemNumber) {
 
-        assert problemNumber >= 1 && problemNumber <= 80;
+        assert problemNumber >= 1;
         this.connectedIslands = connected;
         this.initialState = initialState;
         this.problemNumber = problemNumber;
+
+        int[] others = new int[connected.length() / 4];
+        int otherCount = 0;
+        int squares = 0;
+        boolean diagonal = true;
+
+        for (int i = 0; i + 4 <= connected.length(); i += 4) {
+            int x1 = connected.charAt(i) - '0', y1 = connected.charAt(i + 1) - '0';
+            int x2 = connected.charAt(i + 2) - '0', y2 = connected.charAt(i + 3) - '0';
+            int i1 = island(x1, y1), i2 = island(x2, y2);
+            int x = Math.min(x1, x2), y = Math.min(y1, y2);
+
+            if (i1 >= 0 && i2 >= 0) {
+                islandMatrix[i1] |= 1 << i2;
+                islandMatrix[i2] |= 1 << i1;
+            } else {
+                others[otherCount++] = Bitboard.cornerBit(x1, y1) | Bitboard.cornerBit(x2, y2);
+            }
+
+            if (Math.abs(x1 - x2) == 1 && Math.abs(y1 - y2) == 1 && Bitboard.squareBit(x, y) != 0
+                    && Bitboard.islands(x, y) == (Bitboard.cornerBit(x1, y1) | Bitboard.cornerBit(x2, y2))) {
+                squares |= Bitboard.squareBit(x, y);
+            } else {
+                diagonal = false;
+            }
+        }
+
+        this.otherPairs = Arrays.copyOf(others, otherCount);
+        this.requiredSquares = squares;
+        this.forbiddenSquares = ~squares & 0xfff;
+        this.diagonal = diagonal;
+    }
+
+    /**
+     * @param x The x coordinate of a location.
+     * @param y The y coordinate of a location.
+     * @return The number of the island at the location, from 0 to 9, or -1
+     * if there is no island there.
+     */
+    public static int island(int x, int y) {
+        return x >= 0 && x < 5 && y >= 0 && y < 4 && (x + y) % 2 == 0 ? (y * 5 + x) / 2 : -1;
+    }
+
+    /**
+     * @param i The number of an island (see `island`).
+     * @param j The number of another island.
+     * @return True if the two islands must be connected.
+     */
+    public boolean isConnected(int i, int j) {
+        return (islandMatrix[i] & (1 << j)) != 0;
+    }
+
+    /**
+     * @param i The number of an island (see `island`).
+     * @return The islands which must be connected to it, one bit per island.
+     */
+    public int getConnections(int i) {
+        return islandMatrix[i];
+    }
+
+    /**
+     * @return The squares whose land diagonal must connect its two islands,
+     * as a square mask (bit y * 4 + x).
+     */
+    public int getRequiredSquares() {
+        return requiredSquares;
+    }
+
+    /**
+     * @return The squares whose land diagonal must not connect its two
+     * islands, as a square mask (bit y * 4 + x).
+     */
+    public int getForbiddenSquares() {
+        return forbiddenSquares;
+    }
+
+    /**
+     * @return True if every connection is the land diagonal of a square, so
+     * the connections are exactly the required squares.
+     */
+    public boolean isDiagonal() {
+        return diagonal;
+    }
+
+    /**
+     * @param squares A set of squares, as a square mask (bit y * 4 + x).
+     * @return The connections along the land diagonals of the squares, in
+     * the encoding of `getConnectedIslands`, in order of square.
+     */
+    public static String diagonalConnections(int squares) {
+        StringBuilder connections = new StringBuilder();
+
+        for (int rest = squares & 0xfff; rest != 0; rest &= rest - 1) {
+            int square = Integer.numberOfTrailingZeros(rest);
+            int x = square % 4, y = square / 4;
+
+            connections.append((x + y) % 2 == 0 ? "" + x + y + (x + 1) + (y + 1) : "" + (x + 1) + y + x + (y + 1));
+        }
+
+        return connections.toString();
+    }
+
+    /**
+     * The same connections can be written in any order, and either way
+     * round, so objectives are compared by their canonical connections:
+     * those of `diagonalConnections` if they are all land diagonals, or
+     * else each pair written with its lower location (in the order y * 5 + x)
+     * first, in order.
+     *
+     * @return The connections of the objective, in canonical order.
+     */
+    public String getCanonicalConnections() {
+        if (diagonal) {
+            return diagonalConnections(requiredSquares);
+        }
+
+        /* each pair as its two corners (see `Bitboard.cornerBit`), lower first */
+        SortedSet<Integer> pairs = new TreeSet<>();
+        for (int i = 0; i + 4 <= connectedIslands.length(); i += 4) {
+            int c1 = (connectedIslands.charAt(i + 1) - '0') * 5 + connectedIslands.charAt(i) - '0';
+            int c2 = (connectedIslands.charAt(i + 3) - '0') * 5 + connectedIslands.charAt(i + 2) - '0';
+
+            pairs.add(Math.min(c1, c2) * Location.COUNT + Math.max(c1, c2));
+        }
+
+        StringBuilder connections = new StringBuilder();
+        for (int pair : pairs) {
+            int c1 = pair / Location.COUNT, c2 = pair % Location.COUNT;
+            connections.append(c1 % 5).append(c1 / 5).append(c2 % 5).append(c2 / 5);
+        }
+
+        return connections.toString();
+    }
+
+    /**
+     * Find the locations a tile covering some locations must put dinosaurs
+     * on: those of each connection which lies entirely within them.
+     *
+     * @param corners The locations covered by a tile, as a corner mask (bit y * 5 + x).
+     * @return The locations of the connections within them, as a corner mask.
+     */
+    public int requiredCorners(int corners) {
+        int islands = 0;
+        for (int i = 0; i < ISLANDS; i++) {
+            islands |= (corners >> (2 * i) & 1) << i;
+        }
+
+        int required = 0;
+        for (int rest = islands; rest != 0; rest &= rest - 1) {
+            int i = Integer.numberOfTrailingZeros(rest);
+
+            if ((islandMatrix[i] & islands) != 0) {
+                required |= 1 << (2 * i);
+            }
+        }
+
+        for (int pair : otherPairs) {
+            if ((pair & ~corners) == 0) {
+                required |= pair;
+            }
+        }
+
+        return required;
+    }
+
+    /**
+     * @return One bit per placement code (see `Placement`), set if the
+     * placement on its own is compatible with the connections (see
+     * `Bitboard.objectiveMask`).  The mask is computed once, and must not
+     * be modified.
+     */
+    long[] getPlacementMask() {
+        long[] mask = placementMask;
+
+        if (mask == null) {
+            mask = placementMask = Bitboard.objectiveMask(this);
+        }
+
+        return mask;
     }
 
     /**
@@ -397,6 +603,22 @@ public class Objective {
         return obj;
     }
 
+    /**
+     * Choose a random objective of a difficulty, as `newObjective` does, but
+     * by its measured difficulty (see `DifficultyRater`) rather than by its
+     * index: the built-in objectives are rated once, and split into four
+     * buckets of 20, from the easiest to the hardest.
+     *
+     * @param difficulty The difficulty of the game (0 - starter, 1 - junior, 2 - expert, 3 - master)
+     * @return An objective from the bucket of that difficulty.
+     */
+    public static Objective newRatedObjective(int difficulty) {
+        assert difficulty >= 0 && difficulty <= 3;
+        Objective[] bucket = DifficultyRater.getBuckets()[difficulty];
+
+        return bucket[new Random().nextInt(bucket.length)];
+    }
+
     public String getConnectedIslands() {
         return connectedIslands;
     }
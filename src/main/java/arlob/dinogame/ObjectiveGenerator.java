@@ -0,0 +1,229 @@
+package arlob.dinogame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An offline generator of new objectives with exactly one solution, beyond
+ * the 80 built-in ones.
+ * <p>
+ * A tile only ever connects the two islands of the land diagonal of a
+ * square (see `SolutionIndex`), so every objective which can be solved
+ * connects the islands of some set of squares.  The candidates are all
+ * 4096 of these sets, each as the objective with its connections in
+ * canonical order (see `Objective.diagonalConnections`) and no tiles
+ * placed, and the generator keeps those with a unique solution, found by
+ * a single search which stops at a second one (see
+ * `Dinosaurs.findUniqueSolution`), leaving out any which is already one of
+ * the built-in objectives.
+ * <p>
+ * The candidates are checked by workers on a fork/join pool, one per
+ * thread, each of which takes chunks of consecutive candidates from a
+ * shared counter until there are none left, so that threads which draw
+ * quick candidates go on to take more.  The objectives found are numbered
+ * from 81, in order of candidate, and can be written to a catalog: a
+ * `SolutionDatabase` holding the solution of each of them.
+ */
+public class ObjectiveGenerator {
+    /* The number of candidates: every set of squares */
+    public static final int CANDIDATES = 1 << 12;
+
+    private static final int FIRST_PROBLEM = 81;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * A generator on the common pool.
+     */
+    public ObjectiveGenerator() {
+        this(ForkJoinPool.commonPool(), 64);
+    }
+
+    /**
+     * @param pool      The pool to run the workers on, one per thread.
+     * @param chunkSize The number of candidates a worker takes at a time.
+     */
+    public ObjectiveGenerator(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid chunk size " + chunkSize + ".");
+        }
+
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * The objectives found by a run of the generator, and how fast it found them.
+     */
+    public static class Result {
+        private final List<Objective> objectives;
+        private final long[] solutions;
+        private final int duplicates;
+        private final long elapsedNanos;
+
+        Result(List<Objective> objectives, long[] solutions, int duplicates, long elapsedNanos) {
+            this.objectives = objectives;
+            this.solutions = solutions;
+            this.duplicates = duplicates;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return The new objectives, in order of problem number.
+         */
+        public List<Objective> getObjectives() {
+            return objectives;
+        }
+
+        /**
+         * @param index The index of an objective in `getObjectives`.
+         * @return Its solution, packed as for `Bitboard.visitSolutions`.
+         */
+        public long getSolution(int index) {
+            return solutions[index];
+        }
+
+        /**
+         * @return The number of candidates with a unique solution which were
+         * left out as they are built-in objectives.
+         */
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return The number of candidate objectives checked per second.
+         */
+        public double getObjectivesPerSecond() {
+            return CANDIDATES * 1e9 / Math.max(elapsedNanos, 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Checked %d objectives in %.1f ms (%.0f objectives per second): %d new with a unique solution, %d built-in.",
+                    CANDIDATES, elapsedNanos / 1e6, getObjectivesPerSecond(), objectives.size(), duplicates);
+        }
+    }
+
+    /**
+     * Check every candidate, in parallel.
+     *
+     * @return The new objectives with a unique solution.
+     */
+    public Result generate() {
+        Set<String> builtIn = new HashSet<>();
+        for (Objective objective : Objective.getOBJECTIVES()) {
+            if (objective.getInitialState().isEmpty()) {
+                builtIn.add(objective.getCanonicalConnections());
+            }
+        }
+
+        long start = System.nanoTime();
+
+        /* the solution of each candidate with a unique solution, keyed by its squares */
+        SortedMap<Integer, Long> found = new ConcurrentSkipListMap<>();
+        AtomicInteger next = new AtomicInteger();
+        List<Worker> workers = new ArrayList<>();
+
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            workers.add(new Worker(next, found));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(workers)));
+
+        List<Objective> objectives = new ArrayList<>();
+        long[] solutions = new long[found.size()];
+        int duplicates = 0;
+
+        for (Map.Entry<Integer, Long> entry : found.entrySet()) {
+            String connections = Objective.diagonalConnections(entry.getKey());
+
+            if (builtIn.contains(connections)) {
+                duplicates++;
+                continue;
+            }
+
+            solutions[objectives.size()] = entry.getValue();
+            objectives.add(new Objective(connections, "", FIRST_PROBLEM + objectives.size()));
+        }
+
+        return new Result(Collections.unmodifiableList(objectives), Arrays.copyOf(solutions, objectives.size()),
+                duplicates, System.nanoTime() - start);
+    }
+
+    /**
+     * Check every candidate, in parallel, and write the new objectives to a catalog.
+     *
+     * @param path The file to write the catalog to, which is replaced.
+     * @return The new objectives with a unique solution.
+     * @throws IOException If the catalog cannot be written.
+     */
+    public Result generate(Path path) throws IOException {
+        Result result = generate();
+
+        try (SolutionDatabase.Writer writer = new SolutionDatabase.Writer(path)) {
+            for (int i = 0; i < result.objectives.size(); i++) {
+                writer.add(SolutionDatabase.key(result.objectives.get(i)), result.solutions[i]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Takes chunks of candidates from the shared counter until there are none left.
+     */
+    @SuppressWarnings("serial")
+    private class Worker extends RecursiveAction {
+        private final AtomicInteger next;
+        private final Map<Integer, Long> found;
+
+        Worker(AtomicInteger next, Map<Integer, Long> found) {
+            this.next = next;
+            this.found = found;
+        }
+
+        @Override
+        protected void compute() {
+            for (int from; (from = next.getAndAdd(chunkSize)) < CANDIDATES; ) {
+                for (int squares = from; squares < Math.min(from + chunkSize, CANDIDATES); squares++) {
+                    Dinosaurs game = new Dinosaurs(new Objective(Objective.diagonalConnections(squares), "", FIRST_PROBLEM));
+                    OptionalLong solution = game.findUniqueSolution();
+
+                    if (solution.isPresent()) {
+                        found.put(squares, solution.getAsLong());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate the new objectives and write them to a catalog.
+     *
+     * @param args The file to write, by default objectives.db, then
+     *             optionally the number of threads and the chunk size.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "objectives.db");
+        ForkJoinPool pool = args.length > 1 ? new ForkJoinPool(Integer.parseInt(args[1])) : ForkJoinPool.commonPool();
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        Result result = new ObjectiveGenerator(pool, chunkSize).generate(path);
+
+        System.out.println(result);
+        System.out.println("Wrote " + result.getObjectives().size() + " objectives to " + path + ".");
+    }
+}
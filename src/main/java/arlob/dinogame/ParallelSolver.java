@@ -0,0 +1,250 @@
+package arlob.dinogame;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A solver which searches for solutions in parallel on a fork/join pool.
+ * <p>
+ * The search branches on the first empty square (see `Branching`), and
+ * gives up on boards which can no longer satisfy the objective.  Down
+ * to the split depth, each candidate placement becomes a separate task
+ * with its own game, a clone which shares the immutable `Board` of its
+ * parent, so branching copies nothing; below it, each task searches its
+ * part of the tree sequentially, applying and undoing tiles on its game.
+ * Every task collects its solutions in its own set, and the sets are
+ * merged as the tasks are joined, so no set is shared between threads.
+ * <p>
+ * An ordered solver keeps each of those sets sorted, so the solutions are
+ * returned in lexicographic order of their placement strings, however the
+ * work was spread over the threads of the pool.
+ * <p>
+ * When only a few solutions are wanted, `solutionsUpTo` shares a single
+ * set of results between the tasks, and every task gives up as soon as
+ * enough solutions have been found between them, whether it has yet to
+ * start or is part way through its sequential search.
+ */
+public class ParallelSolver implements Solver {
+
+    /* Each level holds up to 24 candidates, so two levels give plenty of tasks */
+    public static final int DEFAULT_SPLIT_DEPTH = 2;
+
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+    private final boolean ordered;
+    private volatile long nodesVisited;
+
+    /**
+     * Construct a solver which runs on the common pool with the default split depth.
+     */
+    public ParallelSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH, false);
+    }
+
+    /**
+     * Construct a solver which runs on the common pool.
+     *
+     * @param splitDepth The number of levels of the search to split into
+     *                   parallel tasks.  At 0 the search is sequential.
+     */
+    public ParallelSolver(int splitDepth) {
+        this(ForkJoinPool.commonPool(), splitDepth, false);
+    }
+
+    /**
+     * @param pool       The pool to run the search on.
+     * @param splitDepth The number of levels of the search to split into
+     *                   parallel tasks.  At 0 the search is sequential.
+     */
+    public ParallelSolver(ForkJoinPool pool, int splitDepth) {
+        this(pool, splitDepth, false);
+    }
+
+    /**
+     * @param pool       The pool to run the search on.
+     * @param splitDepth The number of levels of the search to split into
+     *                   parallel tasks.  At 0 the search is sequential.
+     * @param ordered    True to return the solutions in lexicographic order.
+     */
+    public ParallelSolver(ForkJoinPool pool, int splitDepth, boolean ordered) {
+        if (splitDepth < 0) {
+            throw new IllegalArgumentException("Bad split depth: " + splitDepth);
+        }
+
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public Set<String> getSolutions(Dinosaurs game) {
+        LongAdder nodes = new LongAdder();
+        Set<String> sols = pool.invoke(new SolveTask(game.clone(), 0, nodes));
+        nodesVisited = nodes.sum();
+
+        return sols;
+    }
+
+    /**
+     * Find a single solution to a game, searching in parallel, and stopping
+     * the remaining tasks as soon as any of them has found one.
+     *
+     * @param game The game to solve, which is left unchanged.
+     * @return The first solution found, or nothing if the game has no solution.
+     */
+    public Optional<String> findFirstSolution(Dinosaurs game) {
+        return solutionsUpTo(game, 1).stream().findFirst();
+    }
+
+    /**
+     * Find up to a given number of solutions to a game, searching in
+     * parallel, and stopping the remaining tasks as soon as that many have
+     * been found between them.
+     *
+     * @param game  The game to solve, which is left unchanged.
+     * @param limit The number of solutions to stop at.
+     * @return All of the solutions if there are fewer than limit, or else
+     * limit of them, in lexicographic order.
+     */
+    public Set<String> solutionsUpTo(Dinosaurs game, int limit) {
+        Set<String> found = new ConcurrentSkipListSet<>();
+        LongAdder nodes = new LongAdder();
+
+        if (limit > 0) {
+            pool.invoke(new FindTask(game.clone(), 0, found, new AtomicInteger(limit), nodes));
+        }
+        nodesVisited = nodes.sum();
+
+        return new TreeSet<>(found);
+    }
+
+    /**
+     * @param game The game to solve, which is left unchanged.
+     * @return True if the game has exactly one solution, stopping the search
+     * as soon as a second one is found.
+     */
+    public boolean hasUniqueSolution(Dinosaurs game) {
+        return solutionsUpTo(game, 2).size() == 1;
+    }
+
+    public int getSplitDepth() {
+        return splitDepth;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * @return The number of boards visited by the most recent call to
+     * `getSolutions` or `solutionsUpTo`, including the board it started
+     * from.  Boards which the tasks of `solutionsUpTo` gave up before
+     * visiting are not counted.
+     */
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+
+    @SuppressWarnings("serial")
+    private class SolveTask extends RecursiveTask<Set<String>> {
+        private final Dinosaurs board;    // owned by this task
+        private final int depth;
+        private final LongAdder nodes;
+
+        SolveTask(Dinosaurs board, int depth, LongAdder nodes) {
+            this.board = board;
+            this.depth = depth;
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected Set<String> compute() {
+            Set<String> sols = ordered ? new TreeSet<>() : new LinkedHashSet<>();
+
+            if (depth >= splitDepth || board.isComplete()) {
+                board.search(sols, Branching.FIRST_EMPTY_SQUARE, true, nodes);
+                return sols;
+            }
+
+            nodes.increment();
+
+            List<SolveTask> subtasks = new ArrayList<>();
+
+            for (int code : board.findBranchPlacements(Branching.FIRST_EMPTY_SQUARE, true)) {
+                Dinosaurs d = board.clone();
+                d.addTileToBoard(code);
+                subtasks.add(new SolveTask(d, depth + 1, nodes));
+            }
+
+            invokeAll(subtasks);
+
+            for (SolveTask subtask : subtasks) {
+                sols.addAll(subtask.join());
+            }
+
+            return sols;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private class FindTask extends RecursiveAction {
+        private final Dinosaurs board;    // owned by this task
+        private final int depth;
+        private final Set<String> found;
+        private final AtomicInteger wanted;    // the number of solutions still to find
+        private final LongAdder nodes;
+
+        FindTask(Dinosaurs board, int depth, Set<String> found, AtomicInteger wanted, LongAdder nodes) {
+            this.board = board;
+            this.depth = depth;
+            this.found = found;
+            this.wanted = wanted;
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected void compute() {
+            if (wanted.get() <= 0) {
+                return;
+            }
+
+            if (depth >= splitDepth || board.isComplete()) {
+                /* the search itself gives up as soon as enough solutions have been found elsewhere */
+                Iterator<String> sols = new SolutionIterator(board, () -> wanted.get() <= 0, nodes);
+
+                /* claim a slot before adding, so no more than the limit are added */
+                while (sols.hasNext()) {
+                    String sol = sols.next();
+
+                    if (wanted.getAndDecrement() > 0) {
+                        found.add(sol);
+                    }
+                }
+                return;
+            }
+
+            nodes.increment();
+
+            List<FindTask> subtasks = new ArrayList<>();
+
+            for (int code : board.findBranchPlacements(Branching.FIRST_EMPTY_SQUARE, true)) {
+                Dinosaurs d = board.clone();
+                d.addTileToBoard(code);
+                subtasks.add(new FindTask(d, depth + 1, found, wanted, nodes));
+            }
+
+            invokeAll(subtasks);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package arlob.dinogame;
+
+/**
+ * The codec between placement strings (see `Objective`) and placement
+ * codes, which address the 288 placements of a tile type at a square in
+ * an orientation by a single int:
+ * <p>
+ * code = tile * 48 + (y * 4 + x) * 4 + orientation
+ * <p>
+ * where tile is the ordinal of the TileType, (x,y) is the location of the
+ * tile and orientation is the ordinal of the Orientation.  The strings of
+ * the codes are created once, so turning a code back into a string never
+ * allocates, and equal placements share the same string.
+ */
+public final class Placement {
+
+    public static final int COUNT = 288;
+
+    /* The canonical string of each placement code */
+    private static final String[] STRINGS = new String[COUNT];
+
+    static {
+        for (int code = 0; code < COUNT; code++) {
+            STRINGS[code] = ("" + (char) ('a' + code / 48) + x(code) + y(code) + orientation(code).toChar()).intern();
+        }
+    }
+
+    private Placement() {
+    }
+
+    /**
+     * @param tile        The tile type.
+     * @param x           The x coordinate of the tile's location, from 0 to 3.
+     * @param y           The y coordinate of the tile's location, from 0 to 2.
+     * @param orientation The orientation of the tile.
+     * @return The placement code.
+     */
+    public static int of(TileType tile, int x, int y, Orientation orientation) {
+        return tile.ordinal() * 48 + (y * 4 + x) * 4 + orientation.ordinal();
+    }
+
+    /**
+     * Encode a four-character placement string as a placement code.
+     *
+     * @param placement A string representing a tile placement, whose
+     *                  location is a square of the board.
+     * @return The placement code, between 0 and 287.
+     * @throws IllegalArgumentException If the string is not a placement at
+     *                                  a square of the board.
+     */
+    public static int parse(String placement) {
+        if (placement.length() != 4) {
+            throw new IllegalArgumentException("Invalid placement " + placement + ".");
+        }
+
+        int tile = placement.charAt(0) - 'a';
+        int x = placement.charAt(1) - '0';
+        int y = placement.charAt(2) - '0';
+        int orientation = "NESW".indexOf(placement.charAt(3));
+
+        if (tile < 0 || tile > 5 || x < 0 || x > 3 || y < 0 || y > 2 || orientation < 0) {
+            throw new IllegalArgumentException("Invalid placement " + placement + ".");
+        }
+
+        return tile * 48 + (y * 4 + x) * 4 + orientation;
+    }
+
+    /**
+     * Decode a placement code as a four-character placement string.
+     *
+     * @param code A placement code, between 0 and 287.
+     * @return The canonical (interned) placement string.
+     */
+    public static String toString(int code) {
+        return STRINGS[code];
+    }
+
+    public static TileType tileType(int code) {
+        return TileType.values()[code / 48];
+    }
+
+    public static Orientation orientation(int code) {
+        return Orientation.values()[code % 4];
+    }
+
+    public static int x(int code) {
+        return (code / 4) % 4;
+    }
+
+    public static int y(int code) {
+        return (code % 48) / 16;
+    }
+
+    /**
+     * @param code A placement code.
+     * @return True if the tile is completely within the board.
+     */
+    public static boolean isOnBoard(int code) {
+        Orientation orientation = orientation(code);
+
+        return orientation == Orientation.NORTH || orientation == Orientation.SOUTH ? y(code) < 2 : x(code) < 3;
+    }
+}
@@ -0,0 +1,244 @@
+package arlob.dinogame;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable set of placements, held as a 288-bit mask over the
+ * placement codes (see `Placement`), so that whole sets of placements can
+ * be combined and queried with a few word operations.
+ * <p>
+ * The sets of placements of a tile type, at a square, covering a square,
+ * in an orientation, or putting a state at a location, are precomputed,
+ * and `Dinosaurs.validPlacementsMask` builds the valid placements of a
+ * board from them.
+ */
+public final class PlacementSet {
+    static final int WORDS = (Placement.COUNT + 63) / 64;
+
+    public static final PlacementSet EMPTY = new PlacementSet(new long[WORDS]);
+
+    /* The placements of each tile type, at each square, covering each square, and in each orientation */
+    static final long[][] TILE = new long[6][WORDS];
+    static final long[][] AT = new long[12][WORDS];
+    static final long[][] COVERING = new long[12][WORDS];
+    static final long[][] ORIENTATION = new long[4][WORDS];
+
+    /* The placements within the board */
+    static final long[] ON_BOARD = new long[WORDS];
+
+    /* The placements which put water, and land, on each location */
+    static final long[][] WATER_AT = new long[Location.COUNT][WORDS];
+    static final long[][] LAND_AT = new long[Location.COUNT][WORDS];
+
+    /* The placements which put a red, and a green, dinosaur on each location */
+    static final long[][] RED_AT = new long[Location.COUNT][WORDS];
+    static final long[][] GREEN_AT = new long[Location.COUNT][WORDS];
+
+    static {
+        for (int code = 0; code < Placement.COUNT; code++) {
+            set(TILE[code / 48], code);
+            set(AT[(code % 48) / 4], code);
+            set(ORIENTATION[code % 4], code);
+
+            if (!Bitboard.ON_BOARD[code]) {
+                continue;
+            }
+
+            set(ON_BOARD, code);
+            for (int m = Bitboard.SQUARE_MASK[code]; m != 0; m &= m - 1) {
+                set(COVERING[Integer.numberOfTrailingZeros(m)], code);
+            }
+
+            for (int m = Bitboard.CORNER_MASK[code]; m != 0; m &= m - 1) {
+                int corner = Integer.numberOfTrailingZeros(m);
+                int bit = 1 << corner;
+
+                set((Bitboard.WATER_MASK[code] & bit) != 0 ? WATER_AT[corner] : LAND_AT[corner], code);
+                if ((Bitboard.RED_MASK[code] & bit) != 0) set(RED_AT[corner], code);
+                if ((Bitboard.GREEN_MASK[code] & bit) != 0) set(GREEN_AT[corner], code);
+            }
+        }
+    }
+
+    private final long[] words;
+
+    /**
+     * @param words The mask, which the set takes over.
+     */
+    PlacementSet(long[] words) {
+        this.words = words;
+    }
+
+    private static void set(long[] words, int code) {
+        words[code >> 6] |= 1L << code;
+    }
+
+    /* Remove the placements of a mask from another mask, in place */
+    static void remove(long[] words, long[] mask) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= ~mask[i];
+        }
+    }
+
+    /**
+     * @param codes Placement codes.
+     * @return The set of the placements.
+     */
+    public static PlacementSet of(int... codes) {
+        long[] words = new long[WORDS];
+
+        for (int code : codes) {
+            set(words, code);
+        }
+
+        return new PlacementSet(words);
+    }
+
+    /**
+     * @param code A placement code.
+     * @return True if the placement is in the set.
+     */
+    public boolean contains(int code) {
+        return (words[code >> 6] & (1L << code)) != 0;
+    }
+
+    /**
+     * @return The number of placements in the set.
+     */
+    public int size() {
+        int size = 0;
+
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param other Another set.
+     * @return The placements in both sets.
+     */
+    public PlacementSet and(PlacementSet other) {
+        return and(other.words);
+    }
+
+    private PlacementSet and(long[] mask) {
+        long[] result = new long[WORDS];
+
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & mask[i];
+        }
+
+        return new PlacementSet(result);
+    }
+
+    /**
+     * @param tile A tile type.
+     * @return The placements of the tile type in the set.
+     */
+    public PlacementSet ofTile(TileType tile) {
+        return and(TILE[tile.ordinal()]);
+    }
+
+    /**
+     * @param x The x coordinate of a square.
+     * @param y The y coordinate of a square.
+     * @return The placements in the set whose location is the square.
+     */
+    public PlacementSet at(int x, int y) {
+        return and(AT[y * 4 + x]);
+    }
+
+    /**
+     * @param x The x coordinate of a square.
+     * @param y The y coordinate of a square.
+     * @return The placements in the set which cover the square, whether it
+     * is their location or the second square they cover.
+     */
+    public PlacementSet covering(int x, int y) {
+        return and(COVERING[y * 4 + x]);
+    }
+
+    /**
+     * @param orientation An orientation.
+     * @return The placements in the set in the orientation.
+     */
+    public PlacementSet withOrientation(Orientation orientation) {
+        return and(ORIENTATION[orientation.ordinal()]);
+    }
+
+    /**
+     * @param from A placement code.
+     * @return The first placement code in the set from the given code on,
+     * or -1 if there is none.
+     */
+    public int next(int from) {
+        for (int i = from >> 6; i < WORDS && from < Placement.COUNT; i++, from = i << 6) {
+            long word = words[i] & (-1L << from);
+
+            if (word != 0) {
+                return (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param action Called with each placement code in the set, in increasing order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    /**
+     * @return The placement codes in the set, in increasing order.
+     */
+    public int[] toArray() {
+        int[] codes = new int[size()];
+        int n = 0;
+
+        for (int i = 0; i < WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                codes[n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+
+        return codes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PlacementSet && Arrays.equals(words, ((PlacementSet) o).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+
+        forEach(code -> sb.append(sb.length() > 1 ? ", " : "").append(Placement.toString(code)));
+
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,387 @@
+package arlob.dinogame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A read-only database of the solutions to a (possibly very large) catalog
+ * of objectives, held in a file which is memory-mapped rather than read,
+ * so that only the pages which are looked at are loaded, and processes
+ * reading the same file share them through the page cache.
+ * <p>
+ * The file is a header followed by fixed-width records, one per solution,
+ * sorted by objective key and then by solution:
+ * <p>
+ * - the header is the magic number "DNDB", the format version, the record
+ * width and the number of records, padded to HEADER bytes,
+ * - each record is the objective key (6 bytes) followed by the solution
+ * (5 bytes), both big-endian.
+ * <p>
+ * An objective key (see `key`) holds the island connections of the
+ * objective as a square mask (see `SolutionIndex.key`) in bits 36 to 47,
+ * and its initial state in bits 0 to 35, six bits per tile type, with tile
+ * 'a' in the lowest bits: the placement code of the tile less 48 times its
+ * ordinal, or 63 if the tile is not placed.  A solution is packed the same
+ * way (see `compact`).  Objectives without solutions have no records.
+ * <p>
+ * Databases are written with a `Writer`, to which the records must be
+ * added in order.
+ */
+public class SolutionDatabase implements Closeable {
+    static final int HEADER = 32;
+    static final int RECORD = 11;
+
+    private static final int MAGIC = 0x444e4442;     // "DNDB"
+    private static final int VERSION = 1;
+    private static final int NOT_PLACED = 63;
+
+    /* The number of records in each mapped chunk, so no chunk is over 2GB */
+    private static final long CHUNK = Integer.MAX_VALUE / RECORD;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    /**
+     * A callback which is handed the records of a range scan.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * @param key      The objective key of the record.
+         * @param solution The solution of the record, packed as for
+         *                 `Bitboard.visitSolutions` (see `expand`).
+         */
+        void visit(long key, long solution);
+    }
+
+    private SolutionDatabase(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != RECORD) {
+            throw new IOException("Not a solution database, or an unsupported version.");
+        }
+
+        size = header.getLong();
+        if (channel.size() < HEADER + size * RECORD) {
+            throw new IOException("Expected " + size + " records, but the file is too short.");
+        }
+
+        chunks = new MappedByteBuffer[(int) ((size + CHUNK - 1) / CHUNK)];
+        for (int i = 0; i < chunks.length; i++) {
+            long records = Math.min(CHUNK, size - i * CHUNK);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER + i * CHUNK * RECORD, records * RECORD);
+        }
+    }
+
+    /**
+     * Open a database, mapping it read-only.
+     *
+     * @param path The file holding the database.
+     * @return The database, which must be closed.
+     * @throws IOException If the file cannot be opened, or is not a database.
+     */
+    public static SolutionDatabase open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            return new SolutionDatabase(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of records (solutions) in the database.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param index The index of a record.
+     * @return The objective key of the record.
+     */
+    public long getKey(long index) {
+        ByteBuffer chunk = chunks[(int) (index / CHUNK)];
+        int offset = (int) (index % CHUNK) * RECORD;
+
+        return read(chunk, offset, 6);
+    }
+
+    /**
+     * @param index The index of a record.
+     * @return The solution of the record, packed as for `Bitboard.visitSolutions`.
+     */
+    public long getSolution(long index) {
+        ByteBuffer chunk = chunks[(int) (index / CHUNK)];
+        int offset = (int) (index % CHUNK) * RECORD;
+
+        return expand(read(chunk, offset + 6, 5));
+    }
+
+    /**
+     * @param key An objective key.
+     * @return The index of the first record whose key is not less than the
+     * given key, or size() if there is none.
+     */
+    public long lowerBound(long key) {
+        long lo = 0;
+        long hi = size;
+
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+
+            if (getKey(mid) < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    /**
+     * @param key An objective key.
+     * @return The number of solutions of the objective.
+     */
+    public long count(long key) {
+        return lowerBound(key + 1) - lowerBound(key);
+    }
+
+    /**
+     * @param key An objective key.
+     * @return The solutions of the objective, packed as for `Bitboard.visitSolutions`.
+     */
+    public long[] getSolutions(long key) {
+        long from = lowerBound(key);
+        long[] sols = new long[(int) (lowerBound(key + 1) - from)];
+
+        for (int i = 0; i < sols.length; i++) {
+            sols[i] = getSolution(from + i);
+        }
+
+        return sols;
+    }
+
+    /**
+     * Find the solutions to an objective, starting from its initial state.
+     *
+     * @param objective An objective.
+     * @return A set of strings, each representing a placement of all tiles,
+     * in lexicographic order, which is empty if the objective is not in the
+     * database.
+     */
+    public Set<String> getSolutions(Objective objective) {
+        Set<String> sols = new TreeSet<>();
+        long key = key(objective);
+
+        if (key >= 0) {
+            for (long sol : getSolutions(key)) {
+                sols.add(Bitboard.solutionToString(sol));
+            }
+        }
+
+        return sols;
+    }
+
+    /**
+     * Hand each of the records whose keys are in a range to a visitor, in order.
+     *
+     * @param from    The lowest key of the range.
+     * @param to      The key after the highest key of the range.
+     * @param visitor The visitor to hand the records to.
+     */
+    public void scan(long from, long to, Visitor visitor) {
+        for (long i = lowerBound(from); i < size; i++) {
+            long key = getKey(i);
+
+            if (key >= to) {
+                break;
+            }
+
+            visitor.visit(key, getSolution(i));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @param objective An objective.
+     * @return The key of the objective, or -1 if its island connections
+     * cannot be expressed as a key (see `SolutionIndex.key`).
+     */
+    public static long key(Objective objective) {
+        int connections = SolutionIndex.key(objective);
+
+        if (connections < 0) {
+            return -1;
+        }
+
+        long givens = 0;
+        for (int t = 0; t < 6; t++) {
+            givens |= (long) NOT_PLACED << (6 * t);
+        }
+
+        String state = objective.getInitialState();
+        for (int i = 0; i + 4 <= state.length(); i += 4) {
+            int code = Placement.parse(state.substring(i, i + 4));
+            int t = code / 48;
+
+            givens = (givens & ~(63L << (6 * t))) | ((long) (code - 48 * t) << (6 * t));
+        }
+
+        return (long) connections << 36 | givens;
+    }
+
+    /**
+     * @param solution A solution, packed as for `Bitboard.visitSolutions`.
+     * @return The solution packed into 36 bits, as in a record.
+     */
+    public static long compact(long solution) {
+        long compact = 0;
+
+        for (TileType tile : TileType.values()) {
+            int t = tile.ordinal();
+            compact |= (long) (Bitboard.getPlacement(solution, tile) - 48 * t) << (6 * t);
+        }
+
+        return compact;
+    }
+
+    /**
+     * @param compact A solution packed into 36 bits, as in a record.
+     * @return The solution, packed as for `Bitboard.visitSolutions`.
+     */
+    public static long expand(long compact) {
+        long solution = 0;
+
+        for (int t = 0; t < 6; t++) {
+            solution |= ((compact >>> (6 * t) & 63) + 48L * t) << (9 * t);
+        }
+
+        return solution;
+    }
+
+    private static long read(ByteBuffer buffer, int offset, int bytes) {
+        long value = 0;
+
+        for (int i = 0; i < bytes; i++) {
+            value = value << 8 | (buffer.get(offset + i) & 0xff);
+        }
+
+        return value;
+    }
+
+    /**
+     * Writes a database.  Records must be added in order of objective key,
+     * and, for each objective, in order of solution; the header is filled in
+     * when the writer is closed.
+     */
+    public static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(RECORD * 4096);
+        private long size;
+        private long lastKey = -1;
+        private long lastSolution = -1;
+
+        /**
+         * @param path The file to write the database to, which is replaced.
+         * @throws IOException If the file cannot be written.
+         */
+        public Writer(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER);
+        }
+
+        /**
+         * Add a record.
+         *
+         * @param key      The objective key.
+         * @param solution A solution to the objective, packed as for `Bitboard.visitSolutions`.
+         * @throws IOException If the record cannot be written.
+         */
+        public void add(long key, long solution) throws IOException {
+            long compact = compact(solution);
+
+            if (key < 0 || key >= 1L << 48) {
+                throw new IllegalArgumentException("Invalid objective key " + key + ".");
+            }
+            if (key < lastKey || (key == lastKey && compact <= lastSolution)) {
+                throw new IllegalArgumentException("Records must be added in order, but " + key + " came after " + lastKey + ".");
+            }
+
+            if (buffer.remaining() < RECORD) {
+                flush();
+            }
+
+            for (int i = 5; i >= 0; i--) {
+                buffer.put((byte) (key >>> (8 * i)));
+            }
+            for (int i = 4; i >= 0; i--) {
+                buffer.put((byte) (compact >>> (8 * i)));
+            }
+
+            lastKey = key;
+            lastSolution = compact;
+            size++;
+        }
+
+        /**
+         * Add the solutions of an objective, in any order.
+         *
+         * @param objective An objective.
+         * @param solutions Its solutions, as strings of placements.
+         * @throws IOException If the records cannot be written.
+         */
+        public void add(Objective objective, Set<String> solutions) throws IOException {
+            long key = key(objective);
+
+            if (key < 0) {
+                throw new IllegalArgumentException("Objective " + objective.getConnectedIslands() + " has no key.");
+            }
+
+            long[] sols = solutions.stream().mapToLong(s -> compact(Bitboard.pack(s))).sorted().toArray();
+            for (long sol : sols) {
+                add(key, expand(sol));
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER);
+                header.putInt(MAGIC).putInt(VERSION).putInt(RECORD).putLong(size);
+                header.clear();
+
+                channel.write(header, 0);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
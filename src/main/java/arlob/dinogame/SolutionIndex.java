@@ -0,0 +1,175 @@
+package arlob.dinogame;
+
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * An index of every legal full board, keyed by the island connections the
+ * board makes.
+ * <p>
+ * A full board is legal when its six tiles cover the twelve squares and
+ * agree on the land, water and dinosaurs of every location, whatever the
+ * objective.  Each square has one land diagonal joining two islands, so
+ * the connections made by a board, and those required by an objective,
+ * are both a set of squares (a 12-bit mask, see `key`).  A placement
+ * satisfies `violatesObjective` exactly when the connections it makes are
+ * the required connections in its two squares, and either its dinosaurs
+ * are all on the islands of those connections, or it has only one.  So
+ * leaving out the boards with a placement which strays from that, the
+ * solutions of any objective are the boards under its key.
+ * <p>
+ * The boards are enumerated once, in parallel, the first time the index is
+ * used.  Each is held packed into a long, as for `Bitboard.visitSolutions`.
+ */
+public class SolutionIndex {
+    private final Map<Integer, long[]> boards;
+    private final int size;
+
+    private static class Holder {
+        static final SolutionIndex INSTANCE = new SolutionIndex();
+    }
+
+    private SolutionIndex() {
+        /* split the enumeration on the placements covering the top-left square */
+        Board empty = Board.withoutObjective();
+        long[] all = IntStream.range(0, Bitboard.PLACEMENTS)
+                .filter(code -> (Bitboard.SQUARE_MASK[code] & 1) != 0 && empty.evaluate(code).isValid())
+                .parallel()
+                .mapToObj(code -> {
+                    LongStream.Builder found = LongStream.builder();
+                    new Bitboard(empty.withPlacement(code)).visitSolutions(found::add);
+
+                    return found.build();
+                })
+                .flatMapToLong(s -> s)
+                .sorted()
+                .toArray();
+
+        Map<Integer, LongStream.Builder> grouped = new HashMap<>();
+        for (long board : all) {
+            if (!isConnected(board)) {
+                continue;
+            }
+
+            grouped.computeIfAbsent(connections(board), k -> LongStream.builder()).add(board);
+        }
+
+        boards = new HashMap<>();
+        grouped.forEach((key, builder) -> boards.put(key, builder.build().toArray()));
+        size = boards.values().stream().mapToInt(b -> b.length).sum();
+    }
+
+    /**
+     * @param board A full board, packed as for `Bitboard.visitSolutions`.
+     * @return True if every tile with more than one dinosaur has them all on
+     * the islands of the connections it makes, so that the board satisfies
+     * the objective with the connections it makes.
+     */
+    private static boolean isConnected(long board) {
+        for (TileType tile : TileType.values()) {
+            int code = Bitboard.getPlacement(board, tile);
+            int dinosaurs = Bitboard.RED_MASK[code] | Bitboard.GREEN_MASK[code];
+            int islands = 0;
+
+            for (int square = 0; square < 12; square++) {
+                if ((Bitboard.CONNECTION_MASK[code] & (1 << square)) != 0) {
+                    islands |= Bitboard.islands(square % 4, square / 4);
+                }
+            }
+
+            if (Integer.bitCount(dinosaurs) > 1 && islands != dinosaurs) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The index, which is built by the first call.
+     */
+    public static SolutionIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param board A full board, packed as for `Bitboard.visitSolutions`.
+     * @return The island connections made by the board, as a square mask.
+     */
+    public static int connections(long board) {
+        int key = 0;
+
+        for (TileType tile : TileType.values()) {
+            key |= Bitboard.CONNECTION_MASK[Bitboard.getPlacement(board, tile)];
+        }
+
+        return key;
+    }
+
+    /**
+     * Find the key of the boards which satisfy an objective: the mask of the
+     * squares whose land diagonals join the pairs of islands the objective
+     * connects.
+     *
+     * @param objective An objective.
+     * @return The key, or -1 if some pair of islands of the objective is not
+     * the land diagonal of a square, so the objective cannot be looked up.
+     */
+    public static int key(Objective objective) {
+        return objective.isDiagonal() ? objective.getRequiredSquares() : -1;
+    }
+
+    /**
+     * @param key A set of island connections, as a square mask.
+     * @return The full boards which make exactly those connections, packed
+     * as for `Bitboard.visitSolutions`, in increasing order.
+     */
+    public long[] getBoards(int key) {
+        return boards.getOrDefault(key, new long[0]).clone();
+    }
+
+    /**
+     * Find the solutions to a game, by looking up the boards for its
+     * objective and keeping those which include every tile already placed.
+     *
+     * @param game The game to solve, whose objective must have a key.
+     * @return A set of strings, each representing a placement of all tiles,
+     * in lexicographic order.
+     */
+    public Set<String> getSolutions(Dinosaurs game) {
+        int key = key(game.getObjective());
+
+        if (key < 0) {
+            throw new IllegalArgumentException("Objective " + game.getObjective().getConnectedIslands() + " cannot be looked up.");
+        }
+
+        String placed = game.toString();
+        long mask = Bitboard.packMask(placed);
+        long value = Bitboard.pack(placed);
+
+        Set<String> sols = new TreeSet<>();
+
+        for (long board : boards.getOrDefault(key, new long[0])) {
+            if ((board & mask) == value) {
+                sols.add(Bitboard.solutionToString(board));
+            }
+        }
+
+        return sols;
+    }
+
+    /**
+     * @return The number of legal full boards which satisfy some objective.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of distinct sets of island connections made by legal full boards.
+     */
+    public int keys() {
+        return boards.size();
+    }
+}
@@ -0,0 +1,125 @@
+package arlob.dinogame;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * An iterator over the solutions of a game, which searches for each
+ * solution only when it is asked for.
+ * <p>
+ * The search is the same depth-first search as `Dinosaurs.search`,
+ * branching on the first empty square, but it keeps its own stack of
+ * candidate placements so that it can stop after every solution and
+ * carry on from where it left off.  Tiles are applied to and undone on a
+ * private copy of the board.
+ * <p>
+ * An iterator may be given a stop condition, which is checked at every
+ * board the search visits, so that a search shared between several
+ * iterators (see `ParallelSolver.solutionsUpTo`) can be called off part
+ * way through a subtree, rather than only between solutions.  Once the
+ * condition holds, the iterator has no more solutions.  It may also count
+ * the boards it visits, as `Dinosaurs.search` does.
+ */
+class SolutionIterator implements Iterator<String> {
+    private final Dinosaurs board;
+    private final BooleanSupplier stop;
+    private final LongAdder nodes;
+
+    /* The candidates, and the next one to try, for each level of the search */
+    private final int[][] candidates = new int[7][];
+    private final int[] index = new int[7];
+    private final Dinosaurs.Undo[] undo = new Dinosaurs.Undo[7];
+    private int depth;
+
+    private String next;
+
+    /**
+     * @param game The game to solve, which is left unchanged.
+     */
+    SolutionIterator(Dinosaurs game) {
+        this(game, () -> false, new LongAdder());
+    }
+
+    /**
+     * @param game The game to solve, which is left unchanged.
+     * @param stop  A condition which, once it holds, ends the search.
+     * @param nodes Incremented once for every board visited.
+     */
+    SolutionIterator(Dinosaurs game, BooleanSupplier stop, LongAdder nodes) {
+        this.board = game.clone();
+        this.stop = stop;
+        this.nodes = nodes;
+        nodes.increment();
+
+        for (int i = 0; i < undo.length; i++) {
+            undo[i] = new Dinosaurs.Undo();
+        }
+
+        if (board.isComplete()) {
+            next = board.toString();
+            depth = -1;
+        } else {
+            candidates[0] = board.findBranchPlacements(Branching.FIRST_EMPTY_SQUARE, true);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        String sol = next;
+        next = null;
+
+        return sol;
+    }
+
+    /**
+     * Carry on with the search until the next solution is found.
+     *
+     * @return The next solution, or null if there are none left.
+     */
+    private String advance() {
+        while (depth >= 0) {
+            if (stop.getAsBoolean()) {
+                depth = -1;
+                return null;
+            }
+
+            if (index[depth] == candidates[depth].length) {
+                /* this level is exhausted, so go back to the previous one */
+                if (--depth >= 0) {
+                    board.undo(undo[depth]);
+                }
+                continue;
+            }
+
+            board.apply(Tile.of(candidates[depth][index[depth]++]), undo[depth]);
+            nodes.increment();
+
+            if (board.isComplete()) {
+                String sol = board.toString();
+                board.undo(undo[depth]);
+                return sol;
+            }
+
+            depth++;
+            candidates[depth] = board.findBranchPlacements(Branching.FIRST_EMPTY_SQUARE, true);
+            index[depth] = 0;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,253 @@
+package arlob.dinogame;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A precomputed table of the solutions to the built-in objectives, which
+ * is shipped as the `solutions.bin` resource, so that they do not have to
+ * be searched for every time a game is started.
+ * <p>
+ * The solutions of each objective are those on the empty board, so that a
+ * game with any tiles placed (whether or not they are the objective's
+ * initial state) can be answered by keeping the solutions which include
+ * them.  The table is written as follows (big-endian):
+ * <p>
+ * - the magic number "DINO" and the format version,
+ * - a CRC-32 checksum of the catalog of objectives the table was built for,
+ * - the number of objectives, then for each of them the number of solutions,
+ * followed by the solutions, each packed as for `Bitboard.visitSolutions`
+ * into 7 bytes,
+ * - a CRC-32 checksum of everything before it.
+ * <p>
+ * A table whose catalog checksum does not match `Objective.getOBJECTIVES()`
+ * is stale, and is rebuilt (in memory) when it is loaded.  Run `main` to
+ * write a fresh table.
+ */
+public class SolutionTable {
+    public static final String RESOURCE = "solutions.bin";
+
+    private static final int MAGIC = 0x44494e4f;     // "DINO"
+    private static final int VERSION = 1;
+    private static final int SOLUTION_BYTES = 7;
+
+    /* The solutions on the empty board of each objective, keyed by its island connections */
+    private final Map<String, long[]> solutions = new HashMap<>();
+    private final Objective[] catalog;
+
+    private static class Holder {
+        static final SolutionTable INSTANCE = load();
+    }
+
+    private SolutionTable(Objective[] catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * @return The table of the built-in objectives, which is loaded (or, if
+     * the resource is missing or stale, built) by the first call.
+     */
+    public static SolutionTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Load the table of the built-in objectives from the resource, building
+     * it instead if the resource is missing, corrupt or stale.
+     *
+     * @return The table.
+     */
+    static SolutionTable load() {
+        Objective[] catalog = Objective.getOBJECTIVES();
+
+        try (InputStream in = SolutionTable.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                return read(new BufferedInputStream(in), catalog);
+            }
+        } catch (IOException e) {
+            /* fall through and rebuild */
+        }
+
+        return build(catalog);
+    }
+
+    /**
+     * Build the table for a catalog of objectives by solving each of them.
+     *
+     * @param catalog The objectives.
+     * @return The table.
+     */
+    public static SolutionTable build(Objective[] catalog) {
+        SolutionTable table = new SolutionTable(catalog.clone());
+
+        for (Objective objective : catalog) {
+            String conn = objective.getConnectedIslands();
+
+            if (!table.solutions.containsKey(conn)) {
+                long[] sols = new Dinosaurs(objective).getSolutions(new IndexSolver()).stream()
+                        .mapToLong(Bitboard::pack)
+                        .toArray();
+                table.solutions.put(conn, sols);
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Read a table, checking that it is intact and was built for a catalog.
+     *
+     * @param in      The stream to read the table from.
+     * @param catalog The objectives the table should have been built for.
+     * @return The table.
+     * @throws IOException If the table cannot be read, is corrupt, or was built
+     *                     for a different catalog.
+     */
+    public static SolutionTable read(InputStream in, Objective[] catalog) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream data = new DataInputStream(new CheckedInputStream(in, crc));
+
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("Not a solution table, or an unsupported version.");
+        }
+        if (data.readInt() != checksum(catalog)) {
+            throw new IOException("The solution table is stale.");
+        }
+
+        int count = data.readInt();
+        if (count != catalog.length) {
+            throw new IOException("Expected " + catalog.length + " objectives, but the table has " + count + ".");
+        }
+
+        SolutionTable table = new SolutionTable(catalog.clone());
+        byte[] bytes = new byte[SOLUTION_BYTES];
+
+        for (Objective objective : catalog) {
+            long[] sols = new long[data.readUnsignedShort()];
+
+            for (int i = 0; i < sols.length; i++) {
+                data.readFully(bytes);
+                for (byte b : bytes) {
+                    sols[i] = (sols[i] << 8) | (b & 0xff);
+                }
+            }
+
+            table.solutions.put(objective.getConnectedIslands(), sols);
+        }
+
+        int expected = (int) crc.getValue();
+        if (data.readInt() != expected) {
+            throw new IOException("The solution table is corrupt.");
+        }
+
+        return table;
+    }
+
+    /**
+     * Write the table, in the format described above.
+     *
+     * @param out The stream to write the table to.
+     * @throws IOException If the table cannot be written.
+     */
+    public void write(OutputStream out) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream data = new DataOutputStream(new CheckedOutputStream(out, crc));
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(checksum(catalog));
+        data.writeInt(catalog.length);
+
+        for (Objective objective : catalog) {
+            long[] sols = solutions.get(objective.getConnectedIslands());
+            data.writeShort(sols.length);
+
+            for (long sol : sols) {
+                for (int i = SOLUTION_BYTES - 1; i >= 0; i--) {
+                    data.writeByte((int) (sol >>> (8 * i)));
+                }
+            }
+        }
+
+        data.flush();
+        data.writeInt((int) crc.getValue());
+        data.flush();
+    }
+
+    /**
+     * Find the solutions to a game, if its objective has the same island
+     * connections as one in the table, by keeping the solutions which
+     * include every tile already placed.
+     *
+     * @param game The game to solve.
+     * @return A set of strings, each representing a placement of all tiles,
+     * in lexicographic order, or null if the objective is not in the table.
+     */
+    public Set<String> getSolutions(Dinosaurs game) {
+        long[] sols = solutions.get(game.getObjective().getConnectedIslands());
+
+        if (sols == null) {
+            return null;
+        }
+
+        String placed = game.toString();
+        long mask = Bitboard.packMask(placed);
+        long value = Bitboard.pack(placed);
+        Set<String> found = new TreeSet<>();
+
+        for (long sol : sols) {
+            if ((sol & mask) == value) {
+                found.add(Bitboard.solutionToString(sol));
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * @param objective An objective.
+     * @return True if the table holds the solutions of the objective.
+     */
+    public boolean contains(Objective objective) {
+        return solutions.containsKey(objective.getConnectedIslands());
+    }
+
+    /**
+     * @param catalog A catalog of objectives.
+     * @return A CRC-32 checksum of the problem numbers, island connections and
+     * initial states of the objectives.
+     */
+    static int checksum(Objective[] catalog) {
+        CRC32 crc = new CRC32();
+
+        for (Objective objective : catalog) {
+            crc.update((objective.getProblemNumber() + ":" + objective.getConnectedIslands() + ":"
+                    + objective.getInitialState() + ";").getBytes());
+        }
+
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Build the table of the built-in objectives and write it to a file.
+     *
+     * @param args The file to write, by default the resource in src/main/resources.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "src/main/resources/" + RESOURCE);
+        SolutionTable table = build(Objective.getOBJECTIVES());
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            table.write(out);
+        }
+
+        System.out.println("Wrote the solutions of " + table.catalog.length + " objectives to " + path + ".");
+    }
+}
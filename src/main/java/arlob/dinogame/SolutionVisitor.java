@@ -0,0 +1,15 @@
+package arlob.dinogame;
+
+/**
+ * A callback which is handed each solution of a game as it is found.
+ * <p>
+ * A solution is passed as the placement codes (see `Placement`) of the six
+ * tiles packed into a long, nine bits per tile, with tile 'a' in the lowest
+ * bits.  Use `Bitboard.getPlacement(long, TileType)` to read the placement
+ * of a tile, or `Bitboard.solutionToString(long)` to turn the solution into
+ * the usual string.
+ */
+@FunctionalInterface
+public interface SolutionVisitor {
+    void visit(long solution);
+}
@@ -0,0 +1,24 @@
+package arlob.dinogame;
+
+import java.util.Set;
+
+/**
+ * A strategy for finding the solutions of a game.
+ * <p>
+ * Every solver returns the same solutions as `Dinosaurs.getSolutions()`,
+ * each represented by the placements of all six tiles, ordered by tile,
+ * so solvers may be used interchangeably through
+ * `Dinosaurs.getSolutions(Solver)`.
+ */
+public interface Solver {
+
+    /**
+     * Find the solutions to a game, starting from its current board state.
+     * The game itself is left unchanged.
+     *
+     * @param game The game to solve.
+     * @return A set of strings, each representing a placement of all tiles,
+     * which satisfies all of the game objectives.
+     */
+    Set<String> getSolutions(Dinosaurs game);
+}
@@ -2,16 +2,67 @@ package arlob.dinogame;
 
 import static arlob.dinogame.Orientation.*;
 
+/**
+ * A tile placed at a location in an orientation.  Tiles are immutable, and
+ * there is a single shared instance for each of the 288 placement codes
+ * (see `Placement`), which `of` returns, so tiles need not be created
+ * while playing or searching.  The footprint of a placement is held as
+ * masks by `Bitboard`, indexed by the tile's code.
+ */
 public class Tile implements Comparable<Tile> {
 
+    private static final Tile[] TILES = new Tile[Placement.COUNT];
+
+    static {
+        for (int code = 0; code < Placement.COUNT; code++) {
+            TILES[code] = new Tile(Placement.tileType(code), Location.of(Placement.x(code), Placement.y(code)),
+                    Placement.orientation(code));
+        }
+    }
+
     private final TileType tileType;         // Which tile type is it (a ... f)
     private final Location location;         // The tile's current location on board
     private final Orientation orientation;   // The tile's current orientation
+    private final int code;                  // The placement code (see `Placement`), or -1 if off the board
 
     public Tile(String placement) {
-        this.tileType = TileType.valueOf(Character.toString((placement.charAt(0) - 32)));
-        this.orientation = placementToOrientation(placement);
-        this.location = placementToLocation(placement);
+        this(TileType.valueOf(Character.toString((placement.charAt(0) - 32))), placementToLocation(placement),
+                placementToOrientation(placement));
+    }
+
+    private Tile(TileType tileType, Location location, Orientation orientation) {
+        this.tileType = tileType;
+        this.location = location;
+        this.orientation = orientation;
+
+        int x = location.getX();
+        int y = location.getY();
+        this.code = x >= 0 && x < 4 && y >= 0 && y < 3 ? Placement.of(tileType, x, y, orientation) : -1;
+    }
+
+    /**
+     * @param code A placement code (see `Placement`).
+     * @return The shared tile for the placement.
+     */
+    public static Tile of(int code) {
+        return TILES[code];
+    }
+
+    /**
+     * @param placement A string representing a tile placement.
+     * @return The shared tile for the placement, or a new tile if its
+     * location is not a square of the board.
+     */
+    public static Tile of(String placement) {
+        int tile = placement.charAt(0) - 'a';
+        int x = placement.charAt(1) - '0';
+        int y = placement.charAt(2) - '0';
+
+        if (tile >= 0 && tile < 6 && x >= 0 && x < 4 && y >= 0 && y < 3) {
+            return TILES[Placement.of(TileType.values()[tile], x, y, placementToOrientation(placement))];
+        }
+
+        return new Tile(placement);
     }
 
     public Location getLocation() {
@@ -26,6 +77,14 @@ public class Tile implements Comparable<Tile> {
         return tileType;
     }
 
+    /**
+     * @return The placement code of the tile (see `Placement`), or -1 if its
+     * location is not a square of the board.
+     */
+    public int getCode() {
+        return code;
+    }
+
     /**
      * Given a four-character tile placement string, decode the tile's orientation.
      * <p>
@@ -59,10 +118,14 @@ public class Tile implements Comparable<Tile> {
      * @return A value of type `Location` corresponding to the tile's location on the board
      */
     public static Location placementToLocation(String placement) {
-        return new Location(placement.charAt(1) - '0', placement.charAt(2) - '0');
+        return Location.of(placement.charAt(1) - '0', placement.charAt(2) - '0');
     }
 
     public String toString() {
+        if (code >= 0) {
+            return Placement.toString(code);
+        }
+
         return tileType.toString().toLowerCase() + location.getX() + location.getY() + orientation.toString().charAt(0) + "";
     }
 
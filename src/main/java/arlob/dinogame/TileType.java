@@ -27,20 +27,69 @@ public enum TileType {
     public State stateFromOffset(int xoff, int yoff, Orientation orientation) {
         if (xoff < 0 || yoff < 0 || xoff > 2 || yoff > 2) return null;
 
-        State[] states = statemap[this.ordinal()];
-
-        switch (orientation) {
-            case NORTH:
-                return xoff == 2 ? null : states[yoff * 2 + xoff];
-            case EAST:
-                return yoff == 2 ? null : states[(2 - xoff) * 2 + yoff];
-            case SOUTH:
-                return xoff == 2 ? null : states[(2 - yoff) * 2 + 1 - xoff];
-            case WEST:
-                return yoff == 2 ? null : states[xoff * 2 + 1 - yoff];
+        return OFFSET_STATES[this.ordinal() * 4 + orientation.ordinal()][yoff * 3 + xoff];
+    }
+
+    /**
+     * Return the six positions covered by the tile in a given orientation,
+     * with its state at each of them.
+     *
+     * @param orientation The orientation of the piece
+     * @return The footprint, which is shared.
+     */
+    public Footprint footprint(Orientation orientation) {
+        return FOOTPRINTS[this.ordinal() * 4 + orientation.ordinal()];
+    }
+
+    /**
+     * The positions covered by a tile in one orientation, row by row, as
+     * offsets from the tile's location, with the state of the tile at each.
+     */
+    public static final class Footprint {
+        public static final int SIZE = 6;
+
+        private final int width;
+        private final int[] xoff = new int[SIZE];
+        private final int[] yoff = new int[SIZE];
+        private final State[] states = new State[SIZE];
+
+        private Footprint(State[] offsetStates, boolean vertical) {
+            this.width = vertical ? 2 : 3;
+
+            for (int i = 0, k = 0; i < SIZE / width; i++) {
+                for (int j = 0; j < width; j++, k++) {
+                    xoff[k] = j;
+                    yoff[k] = i;
+                    states[k] = offsetStates[i * 3 + j];
+                }
+            }
+        }
+
+        /**
+         * @return The number of columns covered, 2 or 3.
+         */
+        public int getWidth() {
+            return width;
         }
 
-        return null;
+        /**
+         * @return The number of rows covered, 3 or 2.
+         */
+        public int getHeight() {
+            return SIZE / width;
+        }
+
+        public int getX(int k) {
+            return xoff[k];
+        }
+
+        public int getY(int k) {
+            return yoff[k];
+        }
+
+        public State getState(int k) {
+            return states[k];
+        }
     }
 
     private static final State[][] statemap = {
@@ -63,4 +112,36 @@ public enum TileType {
                     RED, WATER,
                     WATER, EMPTY}
     };
+
+    /*
+     * The state at each offset (yoff * 3 + xoff) from the tile's location,
+     * or null if the offset is not covered, and the footprint, for each
+     * tile type and orientation (indexed by ordinal * 4 + orientation).
+     */
+    private static final State[][] OFFSET_STATES = new State[6 * 4][9];
+    private static final Footprint[] FOOTPRINTS = new Footprint[6 * 4];
+
+    static {
+        for (int t = 0; t < 6; t++) {
+            State[] states = statemap[t];
+
+            for (Orientation orientation : Orientation.values()) {
+                State[] table = OFFSET_STATES[t * 4 + orientation.ordinal()];
+
+                for (int yoff = 0; yoff < 3; yoff++) {
+                    for (int xoff = 0; xoff < 3; xoff++) {
+                        table[yoff * 3 + xoff] = switch (orientation) {
+                            case NORTH -> xoff == 2 ? null : states[yoff * 2 + xoff];
+                            case EAST -> yoff == 2 ? null : states[(2 - xoff) * 2 + yoff];
+                            case SOUTH -> xoff == 2 ? null : states[(2 - yoff) * 2 + 1 - xoff];
+                            case WEST -> yoff == 2 ? null : states[xoff * 2 + 1 - yoff];
+                        };
+                    }
+                }
+
+                FOOTPRINTS[t * 4 + orientation.ordinal()] = new Footprint(table,
+                        orientation == Orientation.NORTH || orientation == Orientation.SOUTH);
+            }
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package arlob.dinogame;
+
+import java.util.Arrays;
+
+/**
+ * A bounded set of the boards which a search has fully explored, so that
+ * a board reached again by another order of placements is not searched
+ * twice.  Its solutions were found the first time, so nothing needs to be
+ * kept for it but the fact that it has been explored.
+ * <p>
+ * Each board is found by its Zobrist hash (see `Dinosaurs.getHash`), and
+ * recognised by its placements packed into a long (see `Board.pack`), so
+ * boards whose hashes collide are never mistaken for one another.
+ * <p>
+ * The table is direct mapped: each hash has a single slot, and storing a
+ * board replaces whatever was in its slot, so the table never grows, but
+ * a board may be forgotten and searched again.
+ */
+public class TranspositionTable {
+    private final long[] boards;    // -1 marks an empty slot
+    private final int mask;
+
+    /**
+     * @param capacity The number of slots, rounded up to a power of two.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, but was " + capacity + ".");
+        }
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (capacity == 1) {
+            size = 1;
+        }
+
+        boards = new long[size];
+        mask = size - 1;
+        Arrays.fill(boards, -1);
+    }
+
+    /**
+     * @param hash  The hash of a board.
+     * @param board The placements of the board, packed (never -1).
+     * @return True if the board is in the table.
+     */
+    public boolean contains(long hash, long board) {
+        return boards[slot(hash)] == board;
+    }
+
+    /**
+     * Record that a board has been fully explored.
+     *
+     * @param hash  The hash of the board.
+     * @param board The placements of the board, packed (never -1).
+     */
+    public void add(long hash, long board) {
+        boards[slot(hash)] = board;
+    }
+
+    public int getCapacity() {
+        return boards.length;
+    }
+
+    private int slot(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,35 @@
+package arlob.dinogame;
+
+/**
+ * The outcome of evaluating a tile placement (see `Dinosaurs.evaluate`):
+ * either the placement is valid, or the first of the checks made by
+ * `Dinosaurs.validPlacement` which it fails.
+ */
+public enum Verdict {
+    OK("The tile fits."),
+    OFF_BOARD("The tile is not on the board."),
+    OVERLAP("The tile overlaps another tile."),
+    INCONSISTENT("Water must meet water, and land must meet land."),
+    COLLISION("Red and green dinosaurs must not meet."),
+    OBJECTIVE_VIOLATION("The tile does not make the connections of the objective.");
+
+    private final String message;
+
+    Verdict(String message) {
+        this.message = message;
+    }
+
+    /**
+     * @return True if the placement is valid.
+     */
+    public boolean isValid() {
+        return this == OK;
+    }
+
+    /**
+     * @return A sentence describing the verdict, for the player.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
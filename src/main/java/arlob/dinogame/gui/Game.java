@@ -3,6 +3,7 @@ package arlob.dinogame.gui;
 import arlob.dinogame.Dinosaurs;
 import arlob.dinogame.Orientation;
 import arlob.dinogame.Tile;
+import arlob.dinogame.Verdict;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Group;
@@ -25,7 +26,6 @@ import javafx.stage.Popup;
 import javafx.stage.Stage;
 
 import java.util.Objects;
-import java.util.Set;
 
 public class Game extends Application {
 
@@ -61,7 +61,8 @@ public class Game extends Application {
 
     private final Popup popup = new Popup();
 
-    private static Set<String> solutions;
+    /* The game as it was at the start, used to check for completion */
+    private static Dinosaurs initialGame;
 
     private static final String BASEBOARD_URI = Objects.requireNonNull(Game.class.getClassLoader().getResource("baseboard.png")).toString();
 
@@ -78,6 +79,9 @@ public class Game extends Application {
     /* message on completion */
     private final Text completionText = new Text("Well done!");
 
+    /* message explaining why a tile was not placed */
+    private final Text rejectionText = new Text();
+
     /* the state of the tiles */
     char[] tileState = new char[6];   //  all off screen to begin with
 
@@ -351,13 +355,17 @@ public class Game extends Application {
 
                 String t = Character.toString(this.tileID + 'a') + x + y + o + "";
 
-                if (dinosaursGame.validPlacement(t)) {
+                Verdict verdict = dinosaursGame.evaluate(t);
+
+                if (verdict.isValid()) {
+                    hideRejection();
                     if (tileState[tileID] == NOT_PLACED) {
                         dinosaursGame.addTileToBoard(t);
                     } else {
                         dinosaursGame.updateTileOnBoard(t);
                     }
                 } else {
+                    showRejection(verdict);
                     snapToHome();
                     return;
                 }
@@ -501,7 +509,7 @@ public class Game extends Application {
                 for (Node n : gtiles.getChildren()) {
                     DraggableTile t = ((DraggableTile) n);
 
-                    int id = new Tile(s).getTileType().ordinal();
+                    int id = Tile.of(s).getTileType().ordinal();
 
                     if (t.tileID == id) {
                         int orientation = Tile.placementToOrientation(s).ordinal();
@@ -545,7 +553,7 @@ public class Game extends Application {
             state.append((char) (i + 'a')).append((char) (((tileState[i] / 4) % 4) + '0')).append((char) (((tileState[i] / 4) / 4) + '0')).append(Orientation.values()[tileState[i] % 4].toChar());
         }
 
-        if (solutions.contains(state.toString()))
+        if (initialGame.isSolution(state.toString()))
             showCompletion();
     }
 
@@ -608,6 +616,34 @@ public class Game extends Application {
     }
 
 
+    /**
+     * Create the message to be displayed when a tile is not placed.
+     */
+    private void makeRejection() {
+        rejectionText.setFill(Color.GREY);
+        rejectionText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        rejectionText.setLayoutX(BOARD_X + BOARD_MARGIN + 330);
+        rejectionText.setLayoutY(GAME_HEIGHT - 35);
+        controls.getChildren().add(rejectionText);
+    }
+
+
+    /**
+     * Show why a tile was not placed
+     */
+    private void showRejection(Verdict verdict) {
+        rejectionText.setText(verdict.getMessage());
+    }
+
+
+    /**
+     * Hide the message shown when a tile is not placed
+     */
+    private void hideRejection() {
+        rejectionText.setText("");
+    }
+
+
     /**
      * Show the completion message
      */
@@ -632,11 +668,11 @@ public class Game extends Application {
     private void newGame() {
         try {
             hideCompletion();
+            hideRejection();
             dinosaursGame = new Dinosaurs((int) difficulty.getValue() - 1);
             dinosaursGame.initializeBoardState(dinosaursGame.getObjective().getInitialState());
-            solutions = dinosaursGame.getSolutions();
-            if (solutions.size() > 0)
-                makeSolution((String) solutions.toArray()[0]);
+            initialGame = dinosaursGame.clone();
+            dinosaursGame.findFirstSolution().ifPresent(this::makeSolution);
             makeTiles();
             addObjectiveToBoard();
         } catch (IllegalArgumentException e) {
@@ -670,6 +706,7 @@ public class Game extends Application {
         makeBoard();
         makeControls();
         makeCompletion();
+        makeRejection();
 
         newGame();
 
@@ -0,0 +1,70 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static arlob.dinogame.ViolatesObjectiveTest.randSols;
+import static org.junit.Assert.assertTrue;
+
+public class ApplyUndoTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(1000);
+
+    private void assertSameBoard(Dinosaurs expected, Dinosaurs out, String msg) {
+        assertTrue("Expected tiles " + expected + ", but got " + out + msg, expected.toString().equals(out.toString()));
+
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 5; x++) {
+                Location loc = new Location(x, y);
+                assertTrue("Expected " + expected.getLocationState(loc) + " at location(" + x + ", " + y + "), but got " +
+                        out.getLocationState(loc) + msg, expected.getLocationState(loc) == out.getLocationState(loc));
+            }
+        }
+
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                String pl = "a" + x + y + "E";
+                assertTrue("Expected overlap " + expected.doesPlacementOverlap(pl) + " for placement " + pl + msg,
+                        expected.doesPlacementOverlap(pl) == out.doesPlacementOverlap(pl));
+            }
+        }
+    }
+
+    @Test
+    public void testApplyUndo() {
+        for (int i = 0; i < randSols.length; i++) {
+            Objective obj = Objective.getObjective(i);
+            Dinosaurs game = new Dinosaurs(obj);
+            Dinosaurs.Undo[] undo = new Dinosaurs.Undo[6];
+
+            for (int j = 0; j < 6; j++) {
+                undo[j] = game.apply(randSols[i].substring(j * 4, j * 4 + 4));
+
+                Dinosaurs expected = new Dinosaurs(obj);
+                expected.initializeBoardState(randSols[i].substring(0, j * 4 + 4));
+                assertSameBoard(expected, game, " after applying " + randSols[i].substring(0, j * 4 + 4) + ".");
+            }
+
+            for (int j = 5; j >= 0; j--) {
+                game.undo(undo[j]);
+
+                Dinosaurs expected = new Dinosaurs(obj);
+                expected.initializeBoardState(randSols[i].substring(0, j * 4));
+                assertSameBoard(expected, game, " after undoing " + randSols[i].substring(j * 4) + ".");
+            }
+        }
+    }
+
+    @Test
+    public void testUndoReplace() {
+        Dinosaurs game = new Dinosaurs(Objective.getObjective(0));
+        game.initializeBoardState("b00W");
+        Dinosaurs.Undo undo = game.apply("b01N");
+        game.undo(undo);
+
+        Dinosaurs expected = new Dinosaurs(Objective.getObjective(0));
+        expected.initializeBoardState("b00W");
+        assertSameBoard(expected, game, " after undoing b01N.");
+    }
+}
@@ -0,0 +1,70 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class BacktrackingSolverTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(20000);
+
+    private Set<String> test(Objective obj, String state, BacktrackingSolver solver, Set<String> expected) {
+        Dinosaurs game = new Dinosaurs(obj);
+        game.initializeBoardState(state);
+        Set<String> out = game.getSolutions(solver);
+
+        assertTrue("Expected " + expected + " for obj.connections " + obj.getConnectedIslands() +
+                        ", and state " + state + ", and branching " + solver.getBranching() +
+                        ", but got " + out + ".",
+                out.size() == expected.size() && out.containsAll(expected));
+
+        return out;
+    }
+
+    @Test
+    public void testAll() {
+        for (Branching branching : new Branching[]{Branching.FIRST_EMPTY_SQUARE, Branching.MOST_CONSTRAINED_SQUARE}) {
+            BacktrackingSolver solver = new BacktrackingSolver(branching);
+
+            for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+                test(Objective.getObjective(i), "", solver, new HashSet<>(Arrays.asList(sols[i])));
+            }
+        }
+    }
+
+    @Test
+    public void testNodesVisited() {
+        for (int i = 60; i < Objective.getOBJECTIVES().length; i += 5) {
+            Objective obj = Objective.getObjective(i);
+            String state = sols[i][0].substring(0, 4);
+            Set<String> expected = new HashSet<>(Arrays.asList(sols[i]));
+            expected.removeIf(s -> !s.startsWith(state));
+
+            long[] nodes = new long[Branching.values().length];
+            for (Branching branching : Branching.values()) {
+                BacktrackingSolver solver = new BacktrackingSolver(branching);
+                test(obj, state, solver, expected);
+                nodes[branching.ordinal()] = solver.getNodesVisited();
+            }
+
+            /* the search without a table, which tries every placement order */
+            BacktrackingSolver permuting = new BacktrackingSolver(Branching.EVERY_SQUARE, false, false);
+            test(obj, state, permuting, expected);
+            assertTrue("Expected more nodes without a transposition table (" + permuting.getNodesVisited() +
+                            ") than with one (" + nodes[Branching.EVERY_SQUARE.ordinal()] + ") for problem " + obj.getProblemNumber() + ".",
+                    permuting.getNodesVisited() > nodes[Branching.EVERY_SQUARE.ordinal()]);
+
+            assertTrue("Expected fewer nodes branching on the first empty square (" + nodes[Branching.FIRST_EMPTY_SQUARE.ordinal()] +
+                            ") than on every square (" + nodes[Branching.EVERY_SQUARE.ordinal()] + ") for problem " + obj.getProblemNumber() + ".",
+                    nodes[Branching.FIRST_EMPTY_SQUARE.ordinal()] < nodes[Branching.EVERY_SQUARE.ordinal()]);
+            assertTrue("Expected fewer nodes branching on the most constrained square (" + nodes[Branching.MOST_CONSTRAINED_SQUARE.ordinal()] +
+                            ") than on every square (" + nodes[Branching.EVERY_SQUARE.ordinal()] + ") for problem " + obj.getProblemNumber() + ".",
+                    nodes[Branching.MOST_CONSTRAINED_SQUARE.ordinal()] < nodes[Branching.EVERY_SQUARE.ordinal()]);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static arlob.dinogame.ViolatesObjectiveTest.randSols;
+import static org.junit.Assert.assertTrue;
+
+public class BitboardTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(5000);
+
+    private void test(Objective obj, String state) {
+        Dinosaurs game = new Dinosaurs(obj);
+        game.initializeBoardState(state);
+        Set<String> expected = game.getSolutions(new BacktrackingSolver(Branching.FIRST_EMPTY_SQUARE));
+        Set<String> out = new TreeSet<>();
+
+        new Bitboard(game.getBoard()).visitSolutions(sol -> out.add(Bitboard.solutionToString(sol)));
+
+        String msg = " for obj.connections " + obj.getConnectedIslands() + ", and state " + state;
+        assertTrue("Expected " + expected + msg + ", but got " + out + ".", out.equals(new TreeSet<>(expected)));
+        assertTrue("Expected " + expected.size() + " solutions to be counted" + msg + ".",
+                new Bitboard(game.getBoard()).countSolutions() == expected.size());
+        assertTrue("Expected at most one solution to be counted" + msg + ".",
+                new Bitboard(game.getBoard()).countSolutions(1) == Math.min(1, expected.size()));
+        assertTrue("Expected canSatisfyObjective " + game.canSatisfyObjective() + msg + ".",
+                new Bitboard(game.getBoard()).canSatisfyObjective() == game.canSatisfyObjective());
+        assertTrue("Expected the game to be left at " + state + ", but got " + game + ".", game.toString().equals(state));
+    }
+
+    @Test
+    public void testPlacements() {
+        for (int code = 0; code < Bitboard.PLACEMENTS; code++) {
+            String pl = Placement.toString(code);
+
+            assertTrue("Expected code " + code + " for placement " + pl + ".", Placement.parse(pl) == code);
+            assertTrue("Expected isPlacementOnBoard " + Dinosaurs.isPlacementOnBoard(pl) + " for placement " + pl + ".",
+                    Dinosaurs.isPlacementOnBoard(pl) == Bitboard.ON_BOARD[code]);
+            assertTrue("Expected two squares for placement " + pl + ".",
+                    !Bitboard.ON_BOARD[code] || Integer.bitCount(Bitboard.SQUARE_MASK[code]) == 2);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i += 3) {
+            test(Objective.getObjective(i), "");
+        }
+    }
+
+    @Test
+    public void testPartial() {
+        for (int i = 0; i < randSols.length; i += 7) {
+            for (int j = 4; j <= randSols[i].length(); j += 4) {
+                test(Objective.getObjective(i), randSols[i].substring(0, j));
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.IntStream;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static arlob.dinogame.ViolatesObjectiveTest.randSols;
+import static org.junit.Assert.assertTrue;
+
+public class BoardTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(5000);
+
+    private void test(Objective obj, String state) {
+        Board board = Board.of(obj, state);
+        State[][] expected = EvaluateTest.replay(state);
+
+        assertTrue("Expected " + state + ", but got " + board + ".", board.toString().equals(state) && board.size() == state.length() / 4);
+
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 5; x++) {
+                assertTrue("Expected " + expected[x][y] + " at " + x + "," + y + " for state " + state + ".",
+                        board.getLocationState(x, y) == expected[x][y]);
+            }
+        }
+
+        for (int code = 0; code < Placement.COUNT; code++) {
+            Verdict verdict = EvaluateTest.expected(obj, state, code);
+
+            assertTrue("Expected " + verdict + " for " + Placement.toString(code) + " and state " + state + ", but got " + board.evaluate(code) + ".",
+                    board.evaluate(code) == verdict);
+        }
+    }
+
+    @Test
+    public void testStates() {
+        for (int i = 0; i < randSols.length; i += 7) {
+            for (int j = 0; j <= randSols[i].length(); j += 4) {
+                test(Objective.getObjective(i), randSols[i].substring(0, j));
+            }
+        }
+    }
+
+    @Test
+    public void testImmutable() {
+        Objective obj = Objective.getObjective(0);
+        Board empty = Board.empty(obj);
+        Board one = empty.withPlacement("a00N");
+        Board two = one.withPlacement("b20E");
+
+        assertTrue("Expected the empty board to be unchanged, but got " + empty + ".", empty.size() == 0 && empty.getHash() == 0);
+        assertTrue("Expected a00N, but got " + one + ".", one.toString().equals("a00N"));
+        assertTrue("Expected a00Nb20E, but got " + two + ".", two.toString().equals("a00Nb20E"));
+        assertTrue("Expected the same board in either order.", two.equals(empty.withPlacement("b20E").withPlacement("a00N"))
+                && two.getHash() == empty.withPlacement("b20E").withPlacement("a00N").getHash());
+        assertTrue("Expected removing b to give a00N.", two.withoutTile(TileType.B).equals(one) && two.withoutTile(TileType.C) == two);
+        assertTrue("Expected a moved tile to replace the old one.", two.withPlacement("a01N").toString().equals("a01Nb20E")
+                && two.withPlacement("a01N").getPlacement(TileType.A) == Placement.parse("a01N"));
+    }
+
+    @Test
+    public void testRemove() {
+        for (int i = 0; i < randSols.length; i += 7) {
+            Board full = Board.of(Objective.getObjective(i), randSols[i]);
+
+            for (int j = 0; j < randSols[i].length(); j += 4) {
+                String rest = randSols[i].substring(0, j) + randSols[i].substring(j + 4);
+                Board removed = full.withoutTile(Placement.tileType(Placement.parse(randSols[i].substring(j, j + 4))));
+                Board expected = Board.of(Objective.getObjective(i), rest);
+
+                assertTrue("Expected " + expected + ", but got " + removed + ".", removed.equals(expected) && removed.getHash() == expected.getHash());
+                for (int y = 0; y < 4; y++) {
+                    for (int x = 0; x < 5; x++) {
+                        assertTrue("Expected the state at " + x + "," + y + " after removing a tile from " + full + ".",
+                                removed.getLocationState(x, y) == expected.getLocationState(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWithoutObjective() {
+        Board empty = Board.withoutObjective();
+        Board solved = Board.of(Objective.getObjective(0), sols[0][0]);
+        Board free = empty;
+
+        for (int j = 0; j < sols[0][0].length(); j += 4) {
+            int code = Placement.parse(sols[0][0].substring(j, j + 4));
+
+            assertTrue("Expected " + Placement.toString(code) + " to be valid without an objective.", free.evaluate(code).isValid());
+            free = free.withPlacement(code);
+        }
+
+        assertTrue("Expected no objective, but got " + empty.getObjective() + ".", empty.getObjective() == null && empty.size() == 0);
+        assertTrue("Expected " + solved + ", but got " + free + ".", free.toString().equals(solved.toString())
+                && free.pack() == solved.pack() && free.withoutTile(TileType.A).size() == 5);
+    }
+
+    /* count the solutions extending a board, branching from shared boards in parallel */
+    private static void solve(Board board, Set<String> sols) {
+        if (board.isComplete()) {
+            sols.add(board.toString());
+            return;
+        }
+
+        int square = Integer.numberOfTrailingZeros(~boardSquares(board));
+        IntStream.of(board.validPlacementsMask().at(square % 4, square / 4).toArray())
+                .parallel()
+                .forEach(code -> solve(board.withPlacement(code), sols));
+    }
+
+    private static int boardSquares(Board board) {
+        int squares = 0;
+
+        for (int square = 0; square < 12; square++) {
+            squares |= board.isOccupied(square % 4, square / 4) ? 1 << square : 0;
+        }
+
+        return squares;
+    }
+
+    @Test
+    public void testConcurrentBranching() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i += 9) {
+            Objective obj = Objective.getObjective(i);
+            Set<String> sols = new ConcurrentSkipListSet<>();
+
+            solve(Board.of(obj, obj.getInitialState()), sols);
+
+            Dinosaurs game = new Dinosaurs(obj);
+            game.initializeBoardState(obj.getInitialState());
+            Set<String> expected = new TreeSet<>(game.getSolutions(new BacktrackingSolver(Branching.FIRST_EMPTY_SQUARE)));
+
+            assertTrue("Expected " + expected + " for problem " + obj.getProblemNumber() + ", but got " + sols + ".", sols.equals(expected));
+        }
+    }
+}
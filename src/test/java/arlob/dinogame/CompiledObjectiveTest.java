@@ -0,0 +1,86 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+public class CompiledObjectiveTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(5000);
+
+    /* the locations of each connection within some locations, found from the connection string */
+    private static int requiredCorners(Objective objective, int corners) {
+        String req_conn = objective.getConnectedIslands();
+        int required = 0;
+
+        for (int i = 0; i + 4 <= req_conn.length(); i += 4) {
+            int c1 = Bitboard.cornerBit(req_conn.charAt(i) - '0', req_conn.charAt(i + 1) - '0');
+            int c2 = Bitboard.cornerBit(req_conn.charAt(i + 2) - '0', req_conn.charAt(i + 3) - '0');
+
+            if ((corners & c1) != 0 && (corners & c2) != 0) {
+                required |= c1 | c2;
+            }
+        }
+
+        return required;
+    }
+
+    private static Objective random(Random random) {
+        StringBuilder conn = new StringBuilder();
+
+        for (int i = random.nextInt(8); i > 0; i--) {
+            conn.append(random.nextInt(5)).append(random.nextInt(4)).append(random.nextInt(5)).append(random.nextInt(4));
+        }
+
+        return new Objective(conn.toString(), "", 1);
+    }
+
+    @Test
+    public void testRequiredCorners() {
+        Random random = new Random(0);
+
+        for (int trial = 0; trial < 200; trial++) {
+            Objective obj = trial < Objective.getOBJECTIVES().length ? Objective.getObjective(trial) : random(random);
+
+            for (int code = 0; code < Placement.COUNT; code++) {
+                int corners = Bitboard.CORNER_MASK[code];
+
+                assertTrue("Expected the same required locations for " + Placement.toString(code) + " and objective "
+                                + obj.getConnectedIslands() + ".",
+                        obj.requiredCorners(corners) == requiredCorners(obj, corners));
+            }
+        }
+    }
+
+    @Test
+    public void testIslandMatrix() {
+        Objective obj = new Objective("001110111102", "", 1);
+
+        for (int i = 0; i < Objective.ISLANDS; i++) {
+            for (int j = 0; j < Objective.ISLANDS; j++) {
+                assertTrue("Expected the island matrix to be symmetric.", obj.isConnected(i, j) == obj.isConnected(j, i));
+            }
+        }
+
+        int centre = Objective.island(1, 1);
+        assertTrue("Expected island (1,1) to be connected to (0,0) and (0,2) only.",
+                obj.isConnected(centre, Objective.island(0, 0)) && obj.isConnected(centre, Objective.island(0, 2))
+                        && Integer.bitCount(obj.getConnections(centre)) == 2);
+        assertTrue("Expected no island at (1,0).", Objective.island(1, 0) == -1);
+        assertTrue("Expected squares 0 and 4 to be required, but got " + obj.getRequiredSquares() + ".",
+                obj.getRequiredSquares() == 0x11 && obj.getForbiddenSquares() == (0xfff & ~0x11));
+        assertTrue("Expected 1011 not to be a land diagonal.", !obj.isDiagonal());
+    }
+
+    @Test
+    public void testPlacementMask() {
+        for (Objective obj : Objective.getOBJECTIVES()) {
+            assertTrue("Expected the placement mask to be shared for problem " + obj.getProblemNumber() + ".",
+                    obj.getPlacementMask() == obj.getPlacementMask());
+        }
+    }
+}
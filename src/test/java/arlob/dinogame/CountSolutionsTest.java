@@ -0,0 +1,57 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class CountSolutionsTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(1000);
+
+    @Test
+    public void testCount() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Objective obj = Objective.getObjective(i);
+            long out = new Dinosaurs(obj).countSolutions();
+
+            assertTrue("Expected " + sols[i].length + " solutions for problem " + obj.getProblemNumber() +
+                    ", but got " + out + ".", out == sols[i].length);
+
+            Dinosaurs game = new Dinosaurs(obj);
+            String state = sols[i][0].substring(0, 8);
+            game.initializeBoardState(state);
+            long expected = Arrays.stream(sols[i]).filter(s -> s.startsWith(state)).count();
+            out = game.countSolutions();
+
+            assertTrue("Expected " + expected + " solutions for problem " + obj.getProblemNumber() +
+                    ", and state " + state + ", but got " + out + ".", out == expected);
+        }
+    }
+
+    @Test
+    public void testVisit() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Objective obj = Objective.getObjective(i);
+            Dinosaurs game = new Dinosaurs(obj);
+            game.initializeBoardState(obj.getInitialState());
+
+            Set<String> expected = game.getSolutions();
+            Set<String> out = new HashSet<>();
+            game.visitSolutions(solution -> {
+                for (TileType tile : TileType.values()) {
+                    int code = Bitboard.getPlacement(solution, tile);
+                    assertTrue("Expected tile " + tile + ", but got code " + code + ".", Placement.tileType(code) == tile);
+                }
+                out.add(Bitboard.solutionToString(solution));
+            });
+
+            assertTrue("Expected " + expected + " for problem " + obj.getProblemNumber() + ", but got " + out + ".",
+                    out.equals(expected));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static org.junit.Assert.assertTrue;
+
+public class DifficultyRaterTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(10000);
+
+    @Test
+    public void testSearch() {
+        for (Objective objective : Objective.getOBJECTIVES()) {
+            DifficultyRater.Rating rating = DifficultyRater.rate(objective);
+            BacktrackingSolver solver = new BacktrackingSolver(Branching.MOST_CONSTRAINED_SQUARE, true);
+            Dinosaurs game = new Dinosaurs(objective);
+            game.initializeBoardState(objective.getInitialState());
+            int solutions = game.getSolutions(solver).size();
+
+            assertTrue("Expected " + solver.getNodesVisited() + " nodes and " + solutions + " solutions for problem " +
+                            objective.getProblemNumber() + ", but got " + rating + ".",
+                    rating.getNodesVisited() == solver.getNodesVisited() && rating.getSolutions() == solutions);
+            assertTrue("Expected consistent counts for problem " + objective.getProblemNumber() + ", but got " + rating + ".",
+                    rating.getForcedMoves() + rating.getDeadEnds() + rating.getSolutions() <= rating.getNodesVisited()
+                            && (rating.getBranchingFactor() >= 1 || rating.getNodesVisited() == 1)
+                            && rating.getDifficulty() >= 0);
+        }
+    }
+
+    @Test
+    public void testDifficulty() {
+        Objective objective = Objective.getObjective(0);
+        String solution = new Dinosaurs(objective).getSolutions().iterator().next();
+
+        DifficultyRater.Rating rating = DifficultyRater.rate(new Objective(objective.getConnectedIslands(), solution, 1));
+        assertTrue("Expected a solved board to rate 0, but got " + rating + ".",
+                rating.getDifficulty() == 0 && rating.getNodesVisited() == 1 && rating.getSolutions() == 1);
+
+        rating = DifficultyRater.rate(objective);
+        DifficultyRater.Rating none = DifficultyRater.rate(new Objective(objective.getConnectedIslands(), "", 1));
+        assertTrue("Expected no more effort with the givens of problem 1, but got " + rating + " and " + none + ".",
+                none.getNodesVisited() >= rating.getNodesVisited());
+    }
+
+    @Test
+    public void testParallel() {
+        List<DifficultyRater.Rating> ratings = DifficultyRater.rate(Objective.getOBJECTIVES());
+
+        assertTrue("Expected " + Objective.getOBJECTIVES().length + " ratings, but got " + ratings.size() + ".",
+                ratings.size() == Objective.getOBJECTIVES().length);
+
+        for (int i = 0; i < ratings.size(); i++) {
+            DifficultyRater.Rating expected = DifficultyRater.rate(Objective.getObjective(i));
+            DifficultyRater.Rating out = ratings.get(i);
+
+            assertTrue("Expected " + expected + ", but got " + out + ".",
+                    out.getObjective() == Objective.getObjective(i) && out.getDifficulty() == expected.getDifficulty()
+                            && out.getNodesVisited() == expected.getNodesVisited());
+        }
+    }
+
+    @Test
+    public void testBuckets() {
+        Objective[][] buckets = DifficultyRater.getBuckets();
+        Map<Objective, Double> difficulty = new HashMap<>();
+        Set<Objective> all = new HashSet<>();
+
+        for (DifficultyRater.Rating rating : DifficultyRater.rate(Objective.getOBJECTIVES())) {
+            difficulty.put(rating.getObjective(), rating.getDifficulty());
+        }
+
+        assertTrue("Expected " + DifficultyRater.LEVELS + " buckets, but got " + buckets.length + ".",
+                buckets.length == DifficultyRater.LEVELS);
+
+        double hardest = 0;
+        for (int level = 0; level < buckets.length; level++) {
+            assertTrue("Expected 20 objectives at level " + level + ", but got " + buckets[level].length + ".",
+                    buckets[level].length == 20);
+
+            double easiest = Double.MAX_VALUE;
+            for (Objective objective : buckets[level]) {
+                all.add(objective);
+                easiest = Math.min(easiest, difficulty.get(objective));
+            }
+
+            assertTrue("Expected level " + level + " to be no easier than the level before.", easiest >= hardest);
+            for (Objective objective : buckets[level]) {
+                hardest = Math.max(hardest, difficulty.get(objective));
+            }
+        }
+
+        assertTrue("Expected every objective in a bucket.", all.size() == Objective.getOBJECTIVES().length);
+
+        Objective first = buckets[0][0];
+        buckets[0][0] = null;
+        buckets[1] = null;
+        assertTrue("Expected changing the buckets returned not to change the buckets.",
+                DifficultyRater.getBuckets()[0][0] == first && DifficultyRater.getBuckets()[1] != null);
+    }
+
+    @Test
+    public void testNewRatedObjective() {
+        for (int difficulty = 0; difficulty < 4; difficulty++) {
+            List<Objective> bucket = Arrays.asList(DifficultyRater.getBuckets()[difficulty]);
+
+            for (int i = 0; i < 20; i++) {
+                Objective objective = Objective.newRatedObjective(difficulty);
+
+                assertTrue("Expected an objective from bucket " + difficulty + ", but got problem " +
+                        objective.getProblemNumber() + ".", bucket.contains(objective));
+            }
+        }
+    }
+}
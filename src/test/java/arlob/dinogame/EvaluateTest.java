@@ -0,0 +1,120 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static arlob.dinogame.ViolatesObjectiveTest.randSols;
+import static org.junit.Assert.assertTrue;
+
+public class EvaluateTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(2000);
+
+    /* the state of each location after placing the tiles of a state in turn, replayed from their footprints */
+    static State[][] replay(String state) {
+        State[][] states = new State[5][4];
+
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 4; y++) {
+                states[x][y] = (x + y) % 2 == 0 ? State.EMPTY : State.WATER;
+            }
+        }
+
+        for (int i = 0; i + 4 <= state.length(); i += 4) {
+            int code = Placement.parse(state.substring(i, i + 4));
+            TileType.Footprint footprint = Placement.tileType(code).footprint(Placement.orientation(code));
+
+            for (int k = 0; k < TileType.Footprint.SIZE; k++) {
+                int x = Placement.x(code) + footprint.getX(k), y = Placement.y(code) + footprint.getY(k);
+
+                if (x < 5 && y < 4 && states[x][y] == State.EMPTY) {
+                    states[x][y] = footprint.getState(k);
+                }
+            }
+        }
+
+        return states;
+    }
+
+    /* the verdict of a placement, checking its footprint against a replay of the state one location at a time */
+    static Verdict expected(Objective obj, String state, int code) {
+        State[][] states = replay(state);
+        TileType.Footprint footprint = Placement.tileType(code).footprint(Placement.orientation(code));
+        int x = Placement.x(code), y = Placement.y(code);
+
+        if (x + footprint.getWidth() > 5 || y + footprint.getHeight() > 4) {
+            return Verdict.OFF_BOARD;
+        }
+
+        for (int i = 0; i + 4 <= state.length(); i += 4) {
+            int placed = Placement.parse(state.substring(i, i + 4));
+            TileType.Footprint other = Placement.tileType(placed).footprint(Placement.orientation(placed));
+
+            /* the two squares of each tile are those between its corners */
+            boolean apart = Placement.x(placed) + other.getWidth() - 1 <= x || x + footprint.getWidth() - 1 <= Placement.x(placed)
+                    || Placement.y(placed) + other.getHeight() - 1 <= y || y + footprint.getHeight() - 1 <= Placement.y(placed);
+            if (!apart) {
+                return Verdict.OVERLAP;
+            }
+        }
+
+        Verdict verdict = Verdict.OK;
+        for (int k = 0; k < TileType.Footprint.SIZE; k++) {
+            State board = states[x + footprint.getX(k)][y + footprint.getY(k)], tile = footprint.getState(k);
+
+            if ((board == State.WATER) != (tile == State.WATER)) {
+                return Verdict.INCONSISTENT;
+            }
+            if ((board == State.RED && tile == State.GREEN) || (board == State.GREEN && tile == State.RED)) {
+                verdict = Verdict.COLLISION;
+            }
+        }
+        if (verdict != Verdict.OK) {
+            return verdict;
+        }
+
+        return (obj.getPlacementMask()[code >> 6] & (1L << code)) != 0 ? Verdict.OK : Verdict.OBJECTIVE_VIOLATION;
+    }
+
+    private void test(Objective obj, String state) {
+        Dinosaurs game = new Dinosaurs(obj);
+        game.initializeBoardState(state);
+
+        for (int code = 0; code < Placement.COUNT; code++) {
+            String pl = Placement.toString(code);
+            Verdict expected = expected(obj, state, code);
+
+            assertTrue("Expected " + expected + " for placement " + pl + " and state " + state + ", but got " + game.evaluate(code) + ".",
+                    game.evaluate(code) == expected && game.evaluate(pl) == expected);
+            assertTrue("Expected validPlacement to agree with " + expected + " for placement " + pl + ".",
+                    game.validPlacement(pl) == expected.isValid() && game.validPlacement(code) == expected.isValid());
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            test(Objective.getObjective(i), "");
+        }
+    }
+
+    @Test
+    public void testPartial() {
+        for (int i = 0; i < randSols.length; i += 5) {
+            for (int j = 4; j < randSols[i].length(); j += 4) {
+                test(Objective.getObjective(i), randSols[i].substring(0, j));
+            }
+        }
+    }
+
+    @Test
+    public void testNotPlacements() {
+        Dinosaurs game = new Dinosaurs(Objective.getObjective(0));
+
+        for (String pl : new String[]{"a40N", "a03E", "g00N", "a00X", "a-1N", "a30E", "a02S"}) {
+            assertTrue("Expected OFF_BOARD for " + pl + ", but got " + game.evaluate(pl) + ".", game.evaluate(pl) == Verdict.OFF_BOARD);
+            assertTrue("Expected " + pl + " not to be valid.", !game.validPlacement(pl));
+        }
+    }
+}
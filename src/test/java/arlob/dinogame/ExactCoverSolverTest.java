@@ -0,0 +1,64 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class ExactCoverSolverTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(2000);
+
+    private void test(Objective obj, String state, Set<String> expected) {
+        Dinosaurs game = new Dinosaurs(obj);
+        game.initializeBoardState(state);
+        Set<String> out = game.getSolutions(new ExactCoverSolver());
+
+        assertTrue("Expected " + expected + " for obj.connections " + obj.getConnectedIslands() +
+                        ", and state " + state + ", but got " + out + ".",
+                out.size() == expected.size() && out.containsAll(expected));
+    }
+
+    @Test
+    public void testAll() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            test(Objective.getObjective(i), "", new HashSet<>(Arrays.asList(sols[i])));
+        }
+    }
+
+    @Test
+    public void testInitialState() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Objective obj = Objective.getObjective(i);
+            Dinosaurs game = new Dinosaurs(obj);
+            game.initializeBoardState(obj.getInitialState());
+
+            Set<String> expected = new HashSet<>();
+            for (String sol : sols[i]) {
+                if (containsAll(sol, obj.getInitialState())) {
+                    expected.add(sol);
+                }
+            }
+
+            test(obj, obj.getInitialState(), expected);
+        }
+    }
+
+    @Test
+    public void testComplete() {
+        test(Objective.getObjective(0), sols[0][0], Collections.singleton(sols[0][0]));
+    }
+
+    private boolean containsAll(String solution, String placements) {
+        for (int i = 0; i < placements.length(); i += 4) {
+            if (!solution.contains(placements.substring(i, i + 4))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class FindFirstSolutionTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(2000);
+
+    @Test
+    public void testFirst() {
+        ParallelSolver solver = new ParallelSolver();
+
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Set<String> expected = new HashSet<>(Arrays.asList(sols[i]));
+            Dinosaurs game = new Dinosaurs(Objective.getObjective(i));
+
+            Optional<String> out = game.findFirstSolution();
+            assertTrue("Expected one of " + expected + " for problem " + (i + 1) + ", but got " + out + ".",
+                    out.isPresent() && expected.contains(out.get()));
+
+            out = solver.findFirstSolution(game);
+            assertTrue("Expected one of " + expected + " for problem " + (i + 1) + " in parallel, but got " + out + ".",
+                    out.isPresent() && expected.contains(out.get()));
+        }
+    }
+
+    @Test
+    public void testNoSolution() {
+        Dinosaurs game = new Dinosaurs(Objective.getObjective(0));
+        game.initializeBoardState("a00N");
+
+        assertTrue("Expected no solution for state a00N.", game.findFirstSolution().isEmpty());
+        assertTrue("Expected no solution for state a00N in parallel.", new ParallelSolver().findFirstSolution(game).isEmpty());
+        assertTrue("Expected no solutions for state a00N.", game.solutions().count() == 0);
+    }
+
+    @Test
+    public void testStream() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Objective obj = Objective.getObjective(i);
+            Dinosaurs game = new Dinosaurs(obj);
+            game.initializeBoardState(obj.getInitialState());
+
+            Set<String> expected = game.getSolutions();
+            List<String> out = game.solutions().collect(Collectors.toList());
+
+            assertTrue("Expected " + expected + " for problem " + obj.getProblemNumber() + ", but got " + out + ".",
+                    out.size() == expected.size() && expected.containsAll(out));
+            assertTrue("Expected the game to be unchanged, but got " + game + ".", game.toString().length() == obj.getInitialState().length());
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        Dinosaurs game = new Dinosaurs(Objective.getObjective(20));
+        Iterator<String> it = game.solutionIterator();
+        Set<String> out = new HashSet<>();
+
+        while (it.hasNext()) {
+            assertTrue("Expected hasNext to be repeatable.", it.hasNext());
+            out.add(it.next());
+        }
+
+        assertTrue("Expected " + Arrays.toString(sols[20]) + ", but got " + out + ".",
+                out.equals(new HashSet<>(Arrays.asList(sols[20]))));
+    }
+
+    @Test
+    public void testStop() {
+        Dinosaurs game = new Dinosaurs(Objective.getObjective(20));
+        int[] checks = {0};
+
+        /* a solution takes six placements, so stopping at the third board ends the search inside a subtree */
+        Iterator<String> it = new SolutionIterator(game, () -> ++checks[0] >= 3, new LongAdder());
+
+        assertTrue("Expected the search to stop before the first solution.", !it.hasNext() && checks[0] == 3);
+        assertTrue("Expected the search to stay stopped.", !it.hasNext() && checks[0] == 3);
+
+        it = new SolutionIterator(game, () -> false, new LongAdder());
+        assertTrue("Expected a solution without a stop condition.", it.hasNext());
+    }
+
+    @Test
+    public void testIsSolution() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Objective obj = Objective.getObjective(i);
+            Dinosaurs game = new Dinosaurs(obj);
+            game.initializeBoardState(obj.getInitialState());
+
+            for (String sol : sols[i]) {
+                assertTrue("Expected " + sol + " to be a solution for problem " + obj.getProblemNumber() + ".", game.isSolution(sol));
+
+                String bad = sol.substring(0, 3) + (sol.charAt(3) == 'N' ? 'S' : 'N') + sol.substring(4);
+                assertTrue("Expected " + bad + " not to be a solution for problem " + obj.getProblemNumber() + ".", !game.isSolution(bad));
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static org.junit.Assert.assertTrue;
+
+public class GivensSearchTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(20000);
+
+    private static boolean isUnique(Objective objective, String state) {
+        Dinosaurs game = new Dinosaurs(objective);
+        game.initializeBoardState(state);
+
+        return game.hasUniqueSolution();
+    }
+
+    /* the sets of givens of a size, from the solutions of an objective, which make it unique */
+    private static Set<String> bruteForce(Objective objective, int size) {
+        Set<String> states = new TreeSet<>();
+
+        for (String sol : new Dinosaurs(objective).getSolutions()) {
+            for (int mask = 0; mask < 64; mask++) {
+                if (Integer.bitCount(mask) != size) {
+                    continue;
+                }
+
+                StringBuilder state = new StringBuilder();
+                for (int t = 0; t < 6; t++) {
+                    if ((mask & (1 << t)) != 0) {
+                        state.append(sol, 4 * t, 4 * t + 4);
+                    }
+                }
+
+                if (isUnique(objective, state.toString())) {
+                    states.add(state.toString());
+                }
+            }
+        }
+
+        return states;
+    }
+
+    private static Set<String> states(List<Objective> variants) {
+        Set<String> states = new TreeSet<>();
+
+        for (Objective variant : variants) {
+            states.add(variant.getInitialState());
+        }
+
+        return states;
+    }
+
+    @Test
+    public void testMinimal() {
+        for (Objective builtIn : Objective.getOBJECTIVES()) {
+            Objective objective = new Objective(builtIn.getConnectedIslands(), "", builtIn.getProblemNumber());
+            GivensSearch search = new GivensSearch(builtIn);
+            int size = search.getMinimumSize();
+
+            assertTrue("Expected " + new Dinosaurs(objective).getSolutions().size() + " solutions for problem " +
+                            builtIn.getProblemNumber() + ", but got " + search.getSolutionCount() + ".",
+                    search.getSolutionCount() == new Dinosaurs(objective).getSolutions().size());
+            assertTrue("Expected no more givens for problem " + builtIn.getProblemNumber() + " than " +
+                            builtIn.getInitialState() + ", but got " + size + ".",
+                    size >= 0 && (size <= builtIn.getInitialState().length() / 4
+                            || !isUnique(objective, builtIn.getInitialState())));
+
+            Set<String> expected = bruteForce(objective, size);
+            Set<String> out = states(search.minimal());
+            assertTrue("Expected " + expected + " for problem " + builtIn.getProblemNumber() + ", but got " + out + ".",
+                    out.equals(expected));
+            assertTrue("Expected no smaller givens for problem " + builtIn.getProblemNumber() + ".",
+                    size == 0 || bruteForce(objective, size - 1).isEmpty());
+
+            for (Objective variant : search.minimal()) {
+                assertTrue("Expected variants of problem " + builtIn.getProblemNumber() + ".",
+                        variant.getConnectedIslands().equals(builtIn.getConnectedIslands())
+                                && variant.getProblemNumber() == builtIn.getProblemNumber());
+            }
+        }
+    }
+
+    @Test
+    public void testWithGivens() {
+        Objective objective = Objective.getObjective(20);    // 5 solutions with no givens
+        GivensSearch search = new GivensSearch(objective);
+
+        assertTrue("Expected 5 solutions for problem 21, but got " + search.getSolutionCount() + ".",
+                search.getSolutionCount() == 5);
+
+        for (int size = 0; size <= 6; size++) {
+            for (Objective variant : search.withGivens(size)) {
+                String state = variant.getInitialState();
+
+                assertTrue("Expected state " + state + " to have " + size + " givens.", state.length() == 4 * size);
+                assertTrue("Expected state " + state + " to make the solution of problem 21 unique.",
+                        isUnique(objective, state));
+
+                for (int i = 0; i < state.length(); i += 4) {
+                    String less = state.substring(0, i) + state.substring(i + 4);
+
+                    assertTrue("Expected state " + less + " not to make the solution of problem 21 unique.",
+                            !isUnique(objective, less));
+                }
+            }
+        }
+
+        assertTrue("Expected no variants with no givens.", search.withGivens(0).isEmpty());
+        assertTrue("Expected no variants with all the givens, which has a smaller subset.", search.withGivens(6).isEmpty());
+    }
+
+    @Test
+    public void testNoSolution() {
+        GivensSearch search = new GivensSearch(new Objective("0011", "", 1));
+
+        assertTrue("Expected no solutions for connections 0011.", search.getSolutionCount() == 0
+                && search.getMinimumSize() == -1 && search.minimal().isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertTrue;
+
+public class LocationTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(1000);
+
+    @Test
+    public void testShared() {
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 5; x++) {
+                Location loc = Location.of(x, y);
+
+                assertTrue("Expected the same location for " + x + "," + y + ".", loc == Location.of(x, y) && loc == Location.of(loc.getIndex()));
+                assertTrue("Expected " + x + "," + y + ", but got " + loc.getX() + "," + loc.getY() + ".", loc.getX() == x && loc.getY() == y);
+                assertTrue("Expected " + x + "," + y + " to equal a new location.", loc.equals(new Location(x, y)) && loc.hashCode() == new Location(x, y).hashCode());
+            }
+        }
+
+        assertTrue("Expected no index off the board.", new Location().getIndex() == -1 && Location.of(5, 0).getIndex() == -1);
+    }
+
+    @Test
+    public void testHashCode() {
+        Set<Integer> hashes = new HashSet<>();
+
+        for (int y = -1; y < 10; y++) {
+            for (int x = -1; x < 10; x++) {
+                int hash = new Location(x, y).hashCode();
+
+                assertTrue("Expected a distinct hash code for " + x + "," + y + ", but got " + hash + ".", hashes.add(hash));
+                if (x < 5 && x >= 0 && y < 4 && y >= 0) {
+                    assertTrue("Expected hash code " + (y * 5 + x) + " for " + x + "," + y + ", but got " + hash + ".", hash == y * 5 + x);
+                }
+            }
+        }
+
+        int[][] off = {{-1, 31}, {31, -1}, {-2, 62}, {Integer.MIN_VALUE, 0}, {Integer.MAX_VALUE, Integer.MAX_VALUE}, {-31, 961}};
+        for (int[] loc : off) {
+            int hash = new Location(loc[0], loc[1]).hashCode();
+
+            assertTrue("Expected a hash code of at least " + Location.COUNT + " for " + loc[0] + "," + loc[1] + ", but got " + hash + ".",
+                    hash >= Location.COUNT);
+        }
+    }
+}
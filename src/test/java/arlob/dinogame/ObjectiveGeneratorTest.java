@@ -0,0 +1,136 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+
+public class ObjectiveGeneratorTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(20000);
+
+    private static List<String> connections(ObjectiveGenerator.Result result) {
+        List<String> connections = new ArrayList<>();
+
+        for (Objective objective : result.getObjectives()) {
+            connections.add(objective.getConnectedIslands());
+        }
+
+        return connections;
+    }
+
+    @Test
+    public void testUnique() {
+        ObjectiveGenerator.Result result = new ObjectiveGenerator().generate();
+        SolutionIndex index = SolutionIndex.getInstance();
+        Set<String> builtIn = new HashSet<>();
+        int expected = 0;
+
+        for (Objective objective : Objective.getOBJECTIVES()) {
+            builtIn.add(objective.getCanonicalConnections() + ":" + objective.getInitialState());
+        }
+        for (int key = 0; key < ObjectiveGenerator.CANDIDATES; key++) {
+            expected += index.getBoards(key).length == 1 ? 1 : 0;
+        }
+
+        assertTrue("Expected " + expected + " objectives with a unique solution, but got " + result.getObjectives().size() +
+                        " new and " + result.getDuplicates() + " built-in.",
+                result.getObjectives().size() + result.getDuplicates() == expected && !result.getObjectives().isEmpty());
+
+        for (int i = 0; i < result.getObjectives().size(); i++) {
+            Objective objective = result.getObjectives().get(i);
+            Dinosaurs game = new Dinosaurs(objective);
+
+            assertTrue("Expected objective " + objective.getConnectedIslands() + " to be new.",
+                    !builtIn.contains(objective.getCanonicalConnections() + ":"));
+            assertTrue("Expected objective " + objective.getConnectedIslands() + " to be in canonical order.",
+                    objective.getConnectedIslands().equals(objective.getCanonicalConnections()));
+            assertTrue("Expected objective " + objective.getConnectedIslands() + " to have problem number " + (81 + i) + ".",
+                    objective.getProblemNumber() == 81 + i);
+            assertTrue("Expected objective " + objective.getConnectedIslands() + " to have a unique solution.",
+                    game.hasUniqueSolution());
+            assertTrue("Expected the solution of objective " + objective.getConnectedIslands() + ".",
+                    game.getSolutions().equals(Set.of(Bitboard.solutionToString(result.getSolution(i)))));
+        }
+    }
+
+    @Test
+    public void testChunks() {
+        List<String> expected = connections(new ObjectiveGenerator().generate());
+        ForkJoinPool[] pools = {new ForkJoinPool(1), new ForkJoinPool(3)};
+
+        try {
+            for (ForkJoinPool pool : pools) {
+                for (int chunkSize : new int[]{1, 7, ObjectiveGenerator.CANDIDATES}) {
+                    List<String> out = connections(new ObjectiveGenerator(pool, chunkSize).generate());
+
+                    assertTrue("Expected the same objectives on " + pool.getParallelism() + " threads with chunk size " +
+                            chunkSize + ".", out.equals(expected));
+                }
+            }
+        } finally {
+            for (ForkJoinPool pool : pools) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testCatalog() throws IOException {
+        Path path = Files.createTempFile("objectives", ".db");
+
+        try {
+            ObjectiveGenerator.Result result = new ObjectiveGenerator().generate(path);
+
+            try (SolutionDatabase db = SolutionDatabase.open(path)) {
+                assertTrue("Expected " + result.getObjectives().size() + " records, but got " + db.size() + ".",
+                        db.size() == result.getObjectives().size());
+
+                for (Objective objective : result.getObjectives()) {
+                    Set<String> expected = new Dinosaurs(objective).getSolutions();
+                    Set<String> out = db.getSolutions(objective);
+
+                    assertTrue("Expected " + expected + " for objective " + objective.getConnectedIslands() +
+                            ", but got " + out + ".", out.equals(expected));
+                }
+            }
+
+            assertTrue("Expected a throughput, but got " + result + ".", result.getObjectivesPerSecond() > 0);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testCanonical() {
+        String[][] cases = {
+                {"0011", "0011"},
+                {"1100", "0011"},
+                {"11222011", "20111122"},
+                {"0211", "1102"},
+                {"10212110", "1021"},
+                {"1000", "0010"},
+        };
+
+        for (String[] c : cases) {
+            String out = new Objective(c[0], "", 1).getCanonicalConnections();
+
+            assertTrue("Expected " + c[1] + " for connections " + c[0] + ", but got " + out + ".", out.equals(c[1]));
+        }
+
+        for (Objective objective : Objective.getOBJECTIVES()) {
+            Objective canonical = new Objective(objective.getCanonicalConnections(), "", 1);
+
+            assertTrue("Expected the canonical connections of problem " + objective.getProblemNumber() + " to be the same connections.",
+                    canonical.getRequiredSquares() == objective.getRequiredSquares()
+                            && canonical.getCanonicalConnections().equals(objective.getCanonicalConnections()));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelSolverTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(5000);
+
+    private void test(Objective obj, String state, ParallelSolver solver, Set<String> expected) {
+        Dinosaurs game = new Dinosaurs(obj);
+        game.initializeBoardState(state);
+        Set<String> out = game.getSolutions(solver);
+
+        assertTrue("Expected " + expected + " for obj.connections " + obj.getConnectedIslands() +
+                        ", and state " + state + ", and split depth " + solver.getSplitDepth() +
+                        ", but got " + out + ".",
+                out.size() == expected.size() && out.containsAll(expected));
+    }
+
+    @Test
+    public void testSplitDepth() {
+        for (int depth = 0; depth <= 6; depth += 3) {
+            ParallelSolver solver = new ParallelSolver(depth);
+
+            for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+                test(Objective.getObjective(i), "", solver, new HashSet<>(Arrays.asList(sols[i])));
+            }
+        }
+    }
+
+    @Test
+    public void testPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            ParallelSolver solver = new ParallelSolver(pool, 2);
+
+            for (int i = 20; i < Objective.getOBJECTIVES().length; i += 3) {
+                test(Objective.getObjective(i), "", solver, new HashSet<>(Arrays.asList(sols[i])));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNodesVisited() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i += 9) {
+            BacktrackingSolver sequential = new BacktrackingSolver(Branching.FIRST_EMPTY_SQUARE, true);
+            ParallelSolver parallel = new ParallelSolver(2);
+            new Dinosaurs(Objective.getObjective(i)).getSolutions(sequential);
+            new Dinosaurs(Objective.getObjective(i)).getSolutions(parallel);
+
+            assertTrue("Expected " + sequential.getNodesVisited() + " nodes for problem " + Objective.getObjective(i).getProblemNumber() +
+                            ", but got " + parallel.getNodesVisited() + ".",
+                    sequential.getNodesVisited() == parallel.getNodesVisited());
+        }
+    }
+
+    @Test
+    public void testOrdered() {
+        ForkJoinPool[] pools = {new ForkJoinPool(1), new ForkJoinPool(2), new ForkJoinPool(8)};
+        try {
+            for (int i = 20; i < 40; i++) {
+                List<String> expected = new ArrayList<>(Arrays.asList(sols[i]));
+                Collections.sort(expected);
+
+                for (ForkJoinPool pool : pools) {
+                    for (int depth = 0; depth <= 3; depth++) {
+                        List<String> out = new ArrayList<>(new Dinosaurs(Objective.getObjective(i)).getSolutions(new ParallelSolver(pool, depth, true)));
+
+                        assertTrue("Expected " + expected + " for problem " + Objective.getObjective(i).getProblemNumber() +
+                                        " on " + pool.getParallelism() + " threads, and split depth " + depth +
+                                        ", but got " + out + ".", expected.equals(out));
+                    }
+                }
+            }
+        } finally {
+            for (ForkJoinPool pool : pools) {
+                pool.shutdown();
+            }
+        }
+    }
+}
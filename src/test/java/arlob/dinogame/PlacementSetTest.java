@@ -0,0 +1,84 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static arlob.dinogame.ViolatesObjectiveTest.randSols;
+import static org.junit.Assert.assertTrue;
+
+public class PlacementSetTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(2000);
+
+    private static int[] filter(int[] codes, IntPredicate predicate) {
+        return IntStream.of(codes).filter(predicate).toArray();
+    }
+
+    private void test(Objective obj, String state) {
+        Dinosaurs game = new Dinosaurs(obj);
+        game.initializeBoardState(state);
+
+        int[] expected = IntStream.range(0, Placement.COUNT)
+                .filter(code -> !state.contains(String.valueOf((char) ('a' + code / 48))) && game.validPlacement(code))
+                .toArray();
+        PlacementSet valid = game.validPlacementsMask();
+
+        assertTrue("Expected " + PlacementSet.of(expected) + " for state " + state + ", but got " + valid + ".",
+                Arrays.equals(valid.toArray(), expected) && valid.size() == expected.length);
+
+        for (TileType tile : TileType.values()) {
+            assertTrue("Expected the placements of tile " + tile + " for state " + state + ".",
+                    Arrays.equals(valid.ofTile(tile).toArray(), filter(expected, code -> Placement.tileType(code) == tile)));
+        }
+
+        for (Orientation orientation : Orientation.values()) {
+            assertTrue("Expected the placements facing " + orientation + " for state " + state + ".",
+                    Arrays.equals(valid.withOrientation(orientation).toArray(), filter(expected, code -> Placement.orientation(code) == orientation)));
+        }
+
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 4; x++) {
+                final int square = Bitboard.squareBit(x, y);
+                final int fx = x, fy = y;
+
+                assertTrue("Expected the placements at " + x + "," + y + " for state " + state + ".",
+                        Arrays.equals(valid.at(x, y).toArray(), filter(expected, code -> Placement.x(code) == fx && Placement.y(code) == fy))
+                                && Arrays.equals(valid.at(x, y).toArray(), game.findCandidatePlacementCodes(Location.of(x, y))));
+                assertTrue("Expected the placements covering " + x + "," + y + " for state " + state + ".",
+                        Arrays.equals(valid.covering(x, y).toArray(), filter(expected, code -> (Bitboard.SQUARE_MASK[code] & square) != 0)));
+            }
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            test(Objective.getObjective(i), "");
+        }
+    }
+
+    @Test
+    public void testPartial() {
+        for (int i = 0; i < randSols.length; i += 3) {
+            for (int j = 4; j < randSols[i].length(); j += 4) {
+                test(Objective.getObjective(i), randSols[i].substring(0, j));
+            }
+        }
+    }
+
+    @Test
+    public void testSet() {
+        PlacementSet set = PlacementSet.of(0, 63, 64, 200, 287);
+
+        assertTrue("Expected 5 placements, but got " + set.size() + ".", set.size() == 5 && !set.isEmpty() && PlacementSet.EMPTY.isEmpty());
+        assertTrue("Expected 287 to be in the set.", set.contains(287) && !set.contains(286));
+        assertTrue("Expected next to step through the set.", set.next(0) == 0 && set.next(1) == 63 && set.next(65) == 200
+                && set.next(201) == 287 && PlacementSet.of(5).next(6) == -1);
+        assertTrue("Expected the intersection.", set.and(PlacementSet.of(63, 100, 287)).equals(PlacementSet.of(63, 287)));
+    }
+}
@@ -0,0 +1,83 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static arlob.dinogame.ViolatesObjectiveTest.randSols;
+import static org.junit.Assert.assertTrue;
+
+public class PlacementTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(2000);
+
+    @Test
+    public void testCodec() {
+        for (int code = 0; code < Placement.COUNT; code++) {
+            String str = Placement.toString(code);
+            Tile tile = new Tile(str);
+
+            assertTrue("Expected code " + code + " for " + str + ", but got " + Placement.parse(str) + ".", Placement.parse(str) == code);
+            assertTrue("Expected the canonical string for " + str + ".", Placement.toString(code) == str.intern());
+            assertTrue("Expected tile " + str + " to have code " + code + ".", tile.getCode() == code && Tile.of(code).toString() == str);
+            assertTrue("Expected " + str + " on the board to agree.", Placement.isOnBoard(code) == Dinosaurs.isPlacementOnBoard(str));
+            assertTrue("Expected " + str + " to decode.", Placement.of(Placement.tileType(code), Placement.x(code),
+                    Placement.y(code), Placement.orientation(code)) == code);
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        for (String str : new String[]{"", "a00", "g00N", "a40N", "a03N", "a00X", "A00N", "a00Nx"}) {
+            try {
+                Placement.parse(str);
+                assertTrue("Expected " + str + " to be rejected.", false);
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+        }
+    }
+
+    @Test
+    public void testOverloads() {
+        for (int i = 0; i < randSols.length; i++) {
+            Dinosaurs game = new Dinosaurs(Objective.getObjective(i % Objective.getOBJECTIVES().length));
+
+            for (int j = 0; j <= randSols[i].length(); j += 4) {
+                for (int code = 0; code < Placement.COUNT; code++) {
+                    if (!Placement.isOnBoard(code)) {
+                        continue;
+                    }
+
+                    String str = Placement.toString(code);
+                    String msg = " for " + str + " on " + game + ".";
+
+                    assertTrue("Expected overlap to agree" + msg, game.doesPlacementOverlap(code) == game.doesPlacementOverlap(str));
+                    assertTrue("Expected consistency to agree" + msg, game.isPlacementConsistent(code) == game.isPlacementConsistent(str));
+                    assertTrue("Expected danger to agree" + msg, game.isPlacementDangerous(code) == game.isPlacementDangerous(str));
+                    assertTrue("Expected objective violations to agree" + msg, game.violatesObjective(code) == game.violatesObjective(str));
+                    assertTrue("Expected validity to agree" + msg, game.validPlacement(code) == game.validPlacement(str));
+                }
+
+                for (int y = 0; y < 3; y++) {
+                    for (int x = 0; x < 4; x++) {
+                        Location loc = new Location(x, y);
+                        Set<String> out = new HashSet<>();
+                        for (int code : game.findCandidatePlacementCodes(loc)) {
+                            out.add(Placement.toString(code));
+                        }
+
+                        assertTrue("Expected the candidates at " + x + "," + y + " to agree on " + game + ".",
+                                out.equals(game.findCandidatePlacements(loc)));
+                    }
+                }
+
+                if (j < randSols[i].length()) {
+                    game.addTileToBoard(randSols[i].substring(j, j + 4));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class PruningTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(20000);
+
+    private long nodes(Objective obj, Branching branching, boolean pruning, Set<String> expected) {
+        BacktrackingSolver solver = new BacktrackingSolver(branching, pruning);
+        Set<String> out = new Dinosaurs(obj).getSolutions(solver);
+
+        assertTrue("Expected " + expected + " for problem " + obj.getProblemNumber() + ", and branching " +
+                        branching + (pruning ? " with" : " without") + " pruning, but got " + out + ".",
+                out.size() == expected.size() && out.containsAll(expected));
+
+        return solver.getNodesVisited();
+    }
+
+    @Test
+    public void testFewerNodes() {
+        /* problems 13-20 have no tiles placed to begin with */
+        for (int i = 12; i < 20; i++) {
+            Objective obj = Objective.getObjective(i);
+            Set<String> expected = new HashSet<>(Arrays.asList(sols[i]));
+
+            for (Branching branching : Branching.values()) {
+                long without = nodes(obj, branching, false, expected);
+                long with = nodes(obj, branching, true, expected);
+
+                assertTrue("Expected no more nodes with pruning (" + with + ") than without (" + without +
+                                ") for problem " + obj.getProblemNumber() + ", and branching " + branching + ".",
+                        with <= without);
+                if (branching == Branching.EVERY_SQUARE) {
+                    assertTrue("Expected fewer nodes with pruning (" + with + ") than without (" + without +
+                                    ") for problem " + obj.getProblemNumber() + ", and branching " + branching + ".",
+                            with < without);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCanSatisfyObjective() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Objective obj = Objective.getObjective(i);
+            Dinosaurs game = new Dinosaurs(obj);
+
+            assertTrue("Expected the objective of problem " + obj.getProblemNumber() + " to be satisfiable on an empty board.",
+                    game.canSatisfyObjective());
+
+            /* every partial solution can still satisfy the objective */
+            String sol = sols[i][0];
+            for (int j = 0; j < sol.length(); j += 4) {
+                game.addTileToBoard(sol.substring(j, j + 4));
+                Bitboard board = new Bitboard(game.getBoard());
+
+                assertTrue("Expected the objective of problem " + obj.getProblemNumber() + " to be satisfiable with " +
+                        game + ".", game.canSatisfyObjective() && board.canSatisfyObjective());
+            }
+        }
+    }
+}
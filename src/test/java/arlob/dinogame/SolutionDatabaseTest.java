@@ -0,0 +1,146 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class SolutionDatabaseTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(10000);
+
+    /* the solutions of each built-in objective from its initial state */
+    private static Set<String> expected(int i) {
+        Set<String> expected = new TreeSet<>(Arrays.asList(sols[i]));
+        expected.removeIf(s -> !includes(s, Objective.getObjective(i).getInitialState()));
+
+        return expected;
+    }
+
+    private static boolean includes(String solution, String state) {
+        return (Bitboard.pack(solution) & Bitboard.packMask(state)) == Bitboard.pack(state);
+    }
+
+    private static Path write() throws IOException {
+        Path path = Files.createTempFile("solutions", ".db");
+        Objective[] catalog = Objective.getOBJECTIVES().clone();
+        Arrays.sort(catalog, Comparator.comparingLong(SolutionDatabase::key));
+
+        try (SolutionDatabase.Writer writer = new SolutionDatabase.Writer(path)) {
+            for (Objective obj : catalog) {
+                writer.add(obj, expected(obj.getProblemNumber() - 1));
+            }
+        }
+
+        return path;
+    }
+
+    @Test
+    public void testLookup() throws IOException {
+        Path path = write();
+
+        try (SolutionDatabase db = SolutionDatabase.open(path)) {
+            long total = 0;
+
+            for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+                Objective obj = Objective.getObjective(i);
+                Set<String> expected = expected(i);
+                Set<String> out = db.getSolutions(obj);
+                total += expected.size();
+
+                assertTrue("Expected " + expected + " for problem " + obj.getProblemNumber() + ", but got " + out + ".",
+                        out.equals(expected));
+                assertTrue("Expected " + expected.size() + " solutions for problem " + obj.getProblemNumber() + ".",
+                        db.count(SolutionDatabase.key(obj)) == expected.size());
+            }
+
+            assertTrue("Expected " + total + " records, but got " + db.size() + ".", db.size() == total);
+            assertTrue("Expected the file to hold exactly the records.",
+                    Files.size(path) == SolutionDatabase.HEADER + total * SolutionDatabase.RECORD);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testScan() throws IOException {
+        Path path = write();
+
+        try (SolutionDatabase db = SolutionDatabase.open(path)) {
+            List<Long> keys = new ArrayList<>();
+            db.scan(0, Long.MAX_VALUE, (key, solution) -> keys.add(key));
+
+            assertTrue("Expected " + db.size() + " records, but got " + keys.size() + ".", keys.size() == db.size());
+            for (int i = 1; i < keys.size(); i++) {
+                assertTrue("Expected the records in order of key.", keys.get(i - 1) <= keys.get(i));
+            }
+
+            /* the objectives connecting (0,0) and (1,1) have bit 0 of the connections set */
+            long[] count = new long[1];
+            db.scan(1L << 36, 2L << 36, (key, solution) -> count[0]++);
+            long expected = Arrays.stream(Objective.getOBJECTIVES())
+                    .filter(obj -> SolutionDatabase.key(obj) >>> 36 == 1)
+                    .mapToLong(obj -> db.count(SolutionDatabase.key(obj)))
+                    .sum();
+
+            assertTrue("Expected " + expected + " records in the range, but got " + count[0] + ".", count[0] == expected);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testOrder() throws IOException {
+        Path path = Files.createTempFile("solutions", ".db");
+
+        try (SolutionDatabase.Writer writer = new SolutionDatabase.Writer(path)) {
+            long sol = Bitboard.pack(sols[0][0]);
+            writer.add(5, sol);
+
+            try {
+                writer.add(4, sol);
+                assertTrue("Expected records out of order to be rejected.", false);
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testNotDatabase() throws IOException {
+        Path path = Files.createTempFile("solutions", ".db");
+
+        try {
+            Files.write(path, new byte[SolutionDatabase.HEADER]);
+            SolutionDatabase.open(path).close();
+            assertTrue("Expected an empty file not to open.", false);
+        } catch (IOException e) {
+            /* expected */
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testCompact() {
+        for (String[] sol : sols) {
+            for (String s : sol) {
+                long packed = Bitboard.pack(s);
+                long compact = SolutionDatabase.compact(packed);
+
+                assertTrue("Expected " + s + " to fit in 36 bits.", compact >>> 36 == 0);
+                assertTrue("Expected " + s + " back, but got " + Bitboard.solutionToString(SolutionDatabase.expand(compact)) + ".",
+                        SolutionDatabase.expand(compact) == packed);
+            }
+        }
+    }
+}
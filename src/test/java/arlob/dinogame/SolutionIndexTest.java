@@ -0,0 +1,100 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class SolutionIndexTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(20000);
+
+    /* the objective with the island connections given by a key */
+    private static Objective objective(int key) {
+        StringBuilder conn = new StringBuilder();
+
+        for (int square = 0; square < 12; square++) {
+            if ((key & (1 << square)) != 0) {
+                int x = square % 4, y = square / 4;
+                conn.append((x + y) % 2 == 0 ? "" + x + y + (x + 1) + (y + 1) : "" + (x + 1) + y + x + (y + 1));
+            }
+        }
+
+        return new Objective(conn.toString(), "", 1);
+    }
+
+    @Test
+    public void testObjectives() {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Objective obj = Objective.getObjective(i);
+            Set<String> expected = new HashSet<>(Arrays.asList(sols[i]));
+
+            assertTrue("Expected a key for problem " + obj.getProblemNumber() + ".", SolutionIndex.key(obj) >= 0);
+
+            Set<String> out = new Dinosaurs(obj).getSolutions(new IndexSolver());
+            assertTrue("Expected " + expected + " for problem " + obj.getProblemNumber() + ", but got " + out + ".",
+                    out.equals(expected));
+
+            for (String sol : sols[i]) {
+                Dinosaurs game = new Dinosaurs(obj);
+                game.initializeBoardState(sol.substring(0, 8));
+                Set<String> partial = game.getSolutions(new IndexSolver());
+                Set<String> searched = game.getSolutions(new ExactCoverSolver());
+
+                assertTrue("Expected " + searched + " for problem " + obj.getProblemNumber() + ", and state " +
+                        sol.substring(0, 8) + ", but got " + partial + ".", partial.equals(searched));
+            }
+        }
+    }
+
+    @Test
+    public void testKeys() {
+        SolutionIndex index = SolutionIndex.getInstance();
+        Random r = new Random(11);
+        int boards = 0;
+
+        for (int key = 0; key < 1 << 12; key++) {
+            long[] found = index.getBoards(key);
+            boards += found.length;
+
+            if (found.length == 0 && r.nextInt(64) != 0) {
+                continue;
+            }
+
+            Objective obj = objective(key);
+            Set<String> expected = new Dinosaurs(obj).getSolutions(new ExactCoverSolver());
+            Set<String> out = new Dinosaurs(obj).getSolutions(new IndexSolver());
+
+            assertTrue("Expected key " + key + " for " + obj.getConnectedIslands() + ".", SolutionIndex.key(obj) == key);
+            assertTrue("Expected " + expected + " for " + obj.getConnectedIslands() + ", but got " + out + ".",
+                    out.equals(expected));
+
+            for (long board : found) {
+                assertTrue("Expected " + Bitboard.solutionToString(board) + " to make connections " + key + ".",
+                        SolutionIndex.connections(board) == key);
+            }
+        }
+
+        assertTrue("Expected " + index.size() + " boards, but got " + boards + ".", boards == index.size());
+    }
+
+    @Test
+    public void testFallback() {
+        /* (0,0) and (2,0) are not the ends of a land diagonal */
+        for (String conn : new String[]{"0020", "10210011", "0011"}) {
+            Objective obj = new Objective(conn, "", 1);
+            Set<String> expected = new Dinosaurs(obj).getSolutions(new ExactCoverSolver());
+            Set<String> out = new Dinosaurs(obj).getSolutions(new IndexSolver(new ExactCoverSolver()));
+
+            assertTrue("Expected " + expected + " for " + conn + ", but got " + out + ".", out.equals(expected));
+        }
+
+        assertTrue("Expected no key for 0020.", SolutionIndex.key(new Objective("0020", "", 1)) == -1);
+        assertTrue("Expected no key for 1021.", SolutionIndex.key(new Objective("1021", "", 1)) == -1);
+        assertTrue("Expected key 1 for 0011.", SolutionIndex.key(new Objective("0011", "", 1)) == 1);
+    }
+}
@@ -0,0 +1,95 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.*;
+import java.util.*;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class SolutionTableTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(10000);
+
+    private static void check(SolutionTable table) {
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Objective obj = Objective.getObjective(i);
+            Set<String> expected = new HashSet<>(Arrays.asList(sols[i]));
+            Set<String> out = table.getSolutions(new Dinosaurs(obj));
+
+            assertTrue("Expected " + expected + " for problem " + obj.getProblemNumber() + ", but got " + out + ".",
+                    expected.equals(out));
+
+            Dinosaurs game = new Dinosaurs(obj);
+            game.initializeBoardState(obj.getInitialState());
+            out = table.getSolutions(game);
+            Set<String> searched = game.getSolutions(new ExactCoverSolver());
+
+            assertTrue("Expected " + searched + " for problem " + obj.getProblemNumber() + ", and state " +
+                    obj.getInitialState() + ", but got " + out + ".", searched.equals(out));
+        }
+    }
+
+    private static byte[] bytes(SolutionTable table) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.write(out);
+
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testResource() throws IOException {
+        try (InputStream in = SolutionTable.class.getClassLoader().getResourceAsStream(SolutionTable.RESOURCE)) {
+            assertTrue("Expected the " + SolutionTable.RESOURCE + " resource.", in != null);
+            check(SolutionTable.read(in, Objective.getOBJECTIVES()));
+        }
+
+        check(SolutionTable.getInstance());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        byte[] written = bytes(SolutionTable.build(Objective.getOBJECTIVES()));
+        SolutionTable table = SolutionTable.read(new ByteArrayInputStream(written), Objective.getOBJECTIVES());
+
+        check(table);
+        assertTrue("Expected the table to be written the same way again.", Arrays.equals(written, bytes(table)));
+    }
+
+    @Test
+    public void testCorrupt() throws IOException {
+        byte[] written = bytes(SolutionTable.getInstance());
+
+        for (int i = 0; i < written.length; i += 13) {
+            byte[] corrupt = written.clone();
+            corrupt[i] ^= 0x10;
+
+            try {
+                SolutionTable.read(new ByteArrayInputStream(corrupt), Objective.getOBJECTIVES());
+                assertTrue("Expected an exception after changing byte " + i + ".", false);
+            } catch (IOException e) {
+                /* expected */
+            }
+        }
+    }
+
+    @Test
+    public void testStale() throws IOException {
+        byte[] written = bytes(SolutionTable.getInstance());
+        Objective[] changed = Objective.getOBJECTIVES().clone();
+        changed[3] = Objective.getObjective(4);
+
+        try {
+            SolutionTable.read(new ByteArrayInputStream(written), changed);
+            assertTrue("Expected a stale table to be rejected.", false);
+        } catch (IOException e) {
+            assertTrue("Expected a stale table, but got " + e.getMessage(), e.getMessage().contains("stale"));
+        }
+
+        assertTrue("Expected problem 4 not to be in the table for the changed catalog.",
+                !SolutionTable.build(changed).contains(Objective.getObjective(3)));
+    }
+}
@@ -0,0 +1,85 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.assertTrue;
+
+public class TileTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(1000);
+
+    @Test
+    public void testShared() {
+        for (int code = 0; code < Placement.COUNT; code++) {
+            String str = Placement.toString(code);
+
+            assertTrue("Expected the same tile for " + str + ".", Tile.of(code) == Tile.of(str) && Tile.of(new String(str)) == Tile.of(code));
+            assertTrue("Expected tile " + str + ", but got " + Tile.of(code) + ".", Tile.of(code).toString().equals(str));
+        }
+
+        /* tiles off the board are not shared */
+        assertTrue("Expected tile a40N.", Tile.of("a40N").toString().equals("a40N") && Tile.of("a40N").getCode() == -1);
+    }
+
+    @Test
+    public void testFootprint() {
+        for (int code = 0; code < Placement.COUNT; code++) {
+            Tile tile = Tile.of(code);
+            TileType.Footprint footprint = tile.getTileType().footprint(tile.getOrientation());
+            int corners = 0, water = 0, red = 0, green = 0;
+
+            for (int k = 0; k < TileType.Footprint.SIZE; k++) {
+                int x = tile.getLocation().getX() + footprint.getX(k);
+                int y = tile.getLocation().getY() + footprint.getY(k);
+                State s = footprint.getState(k);
+
+                int bit = Bitboard.cornerBit(x, y);
+                corners |= bit;
+                water |= s == State.WATER ? bit : 0;
+                red |= s == State.RED ? bit : 0;
+                green |= s == State.GREEN ? bit : 0;
+            }
+
+            assertTrue("Expected the locations of " + tile + ".", corners == Bitboard.CORNER_MASK[code]);
+            assertTrue("Expected the states of " + tile + ".", water == Bitboard.WATER_MASK[code]
+                    && red == Bitboard.RED_MASK[code] && green == Bitboard.GREEN_MASK[code]);
+        }
+    }
+
+    @Test
+    public void testTypeFootprint() {
+        for (TileType type : TileType.values()) {
+            for (Orientation orientation : Orientation.values()) {
+                TileType.Footprint footprint = type.footprint(orientation);
+                boolean vertical = orientation == Orientation.NORTH || orientation == Orientation.SOUTH;
+                int covered = 0;
+
+                assertTrue("Expected the footprint of " + type + " " + orientation + " to be shared.", footprint == type.footprint(orientation));
+                assertTrue("Expected a " + (vertical ? "2x3" : "3x2") + " footprint for " + type + " " + orientation + ".",
+                        footprint.getWidth() == (vertical ? 2 : 3) && footprint.getHeight() == (vertical ? 3 : 2));
+
+                for (int k = 0; k < TileType.Footprint.SIZE; k++) {
+                    assertTrue("Expected " + type + " " + orientation + " to be listed row by row.",
+                            footprint.getX(k) == k % footprint.getWidth() && footprint.getY(k) == k / footprint.getWidth());
+                    assertTrue("Expected the state at offset " + k + " of " + type + " " + orientation + ".",
+                            footprint.getState(k) != null && footprint.getState(k) == type.stateFromOffset(footprint.getX(k), footprint.getY(k), orientation));
+                }
+
+                for (int yoff = -1; yoff < 4; yoff++) {
+                    for (int xoff = -1; xoff < 4; xoff++) {
+                        covered += type.stateFromOffset(xoff, yoff, orientation) != null ? 1 : 0;
+                    }
+                }
+                assertTrue("Expected 6 covered offsets for " + type + " " + orientation + ", but got " + covered + ".", covered == 6);
+            }
+        }
+
+        /* tile A, facing north, is water, empty / red, water / water, empty */
+        assertTrue("Expected RED at (0,1) of tile A NORTH.", TileType.A.stateFromOffset(0, 1, Orientation.NORTH) == State.RED);
+        assertTrue("Expected RED at (1,0) of tile A EAST.", TileType.A.stateFromOffset(1, 0, Orientation.EAST) == State.RED);
+        assertTrue("Expected RED at (1,1) of tile A SOUTH.", TileType.A.stateFromOffset(1, 1, Orientation.SOUTH) == State.RED);
+        assertTrue("Expected RED at (1,1) of tile A WEST.", TileType.A.stateFromOffset(1, 1, Orientation.WEST) == State.RED);
+    }
+}
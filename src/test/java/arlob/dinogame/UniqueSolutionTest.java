@@ -0,0 +1,103 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static org.junit.Assert.assertTrue;
+
+public class UniqueSolutionTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(10000);
+
+    @Test
+    public void testObjectives() {
+        ParallelSolver solver = new ParallelSolver();
+
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Dinosaurs game = new Dinosaurs(Objective.getObjective(i));
+            boolean expected = sols[i].length == 1;
+
+            assertTrue("Expected " + (expected ? "a unique" : "more than one") + " solution for problem " + (i + 1) + ".",
+                    game.hasUniqueSolution() == expected);
+            assertTrue("Expected " + (expected ? "a unique" : "more than one") + " solution for problem " + (i + 1) +
+                    " in parallel.", solver.hasUniqueSolution(game) == expected);
+
+            OptionalLong unique = game.findUniqueSolution();
+            assertTrue("Expected " + (expected ? sols[i][0] : "no unique solution") + " for problem " + (i + 1) + ".",
+                    expected ? unique.isPresent() && Bitboard.solutionToString(unique.getAsLong()).equals(sols[i][0]) : unique.isEmpty());
+        }
+    }
+
+    @Test
+    public void testUpTo() {
+        ParallelSolver solver = new ParallelSolver(2);
+        Dinosaurs game = new Dinosaurs(Objective.getObjective(20));    // problem 21 has 5 solutions
+        Set<String> all = new HashSet<>(Arrays.asList(sols[20]));
+
+        assertTrue("Expected more than one solution for problem 21.",
+                !game.hasUniqueSolution() && !solver.hasUniqueSolution(game));
+
+        for (int k : new int[]{0, 1, 2, 5, all.size(), all.size() + 1}) {
+            int expected = Math.min(k, all.size());
+            Set<String> out = game.solutionsUpTo(k);
+
+            assertTrue("Expected " + expected + " of " + all + " for limit " + k + ", but got " + out + ".",
+                    out.size() == expected && all.containsAll(out));
+            assertTrue("Expected " + expected + " solutions to be counted for limit " + k + ".",
+                    game.countSolutionsUpTo(k) == expected);
+
+            out = solver.solutionsUpTo(game, k);
+            assertTrue("Expected " + expected + " of " + all + " for limit " + k + " in parallel, but got " + out + ".",
+                    out.size() == expected && all.containsAll(out));
+        }
+
+        assertTrue("Expected the game to be left unchanged.", game.toString().isEmpty());
+    }
+
+    @Test
+    public void testStopEarly() {
+        ForkJoinPool[] pools = {new ForkJoinPool(1), new ForkJoinPool(4)};
+        try {
+            for (ForkJoinPool pool : pools) {
+                ParallelSolver solver = new ParallelSolver(pool, 2);
+
+                for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+                    if (sols[i].length < 2) {
+                        continue;
+                    }
+
+                    Dinosaurs game = new Dinosaurs(Objective.getObjective(i));
+                    solver.solutionsUpTo(game, Integer.MAX_VALUE);
+                    long all = solver.getNodesVisited();
+                    solver.solutionsUpTo(game, 1);
+                    long first = solver.getNodesVisited();
+
+                    /* on one thread the tasks run in turn, so every later branch sees the solution already found */
+                    assertTrue("Expected fewer than " + all + " nodes for the first solution to problem " + (i + 1) +
+                                    " on " + pool.getParallelism() + " threads, but got " + first + ".",
+                            first > 0 && (pool.getParallelism() == 1 ? first < all : first <= all));
+                }
+            }
+        } finally {
+            for (ForkJoinPool pool : pools) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testNoSolution() {
+        Dinosaurs game = new Dinosaurs(Objective.getObjective(0));
+        game.initializeBoardState("a00N");
+
+        assertTrue("Expected no solution for state a00N.", game.solutionsUpTo(2).isEmpty() && !game.hasUniqueSolution()
+                && game.findUniqueSolution().isEmpty());
+        assertTrue("Expected no solution for state a00N in parallel.",
+                new ParallelSolver().solutionsUpTo(game, 2).isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+package arlob.dinogame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static arlob.dinogame.GetSolutionsTest.sols;
+import static arlob.dinogame.ViolatesObjectiveTest.randSols;
+import static org.junit.Assert.assertTrue;
+
+public class ZobristTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(20000);
+
+    @Test
+    public void testOrder() {
+        for (int i = 0; i < randSols.length; i++) {
+            Objective obj = Objective.getObjective(i % Objective.getOBJECTIVES().length);
+            Dinosaurs forward = new Dinosaurs(obj);
+            Dinosaurs backward = new Dinosaurs(obj);
+
+            for (int j = 0; j < randSols[i].length(); j += 4) {
+                forward.addTileToBoard(randSols[i].substring(j, j + 4));
+                backward.addTileToBoard(randSols[i].substring(randSols[i].length() - j - 4, randSols[i].length() - j));
+            }
+
+            assertTrue("Expected the same hash for " + randSols[i] + " placed in either order.",
+                    forward.getHash() == backward.getHash());
+            assertTrue("Expected " + forward + " to equal " + backward + ".",
+                    forward.equals(backward) && forward.hashCode() == backward.hashCode());
+            assertTrue("Expected " + forward + " to equal its clone.", forward.equals(forward.clone()));
+        }
+    }
+
+    @Test
+    public void testUndo() {
+        for (int i = 0; i < randSols.length; i++) {
+            Dinosaurs game = new Dinosaurs(Objective.getObjective(i % Objective.getOBJECTIVES().length));
+            Deque<Long> hashes = new ArrayDeque<>();
+            Deque<Dinosaurs.Undo> undo = new ArrayDeque<>();
+
+            for (int j = 0; j < randSols[i].length(); j += 4) {
+                hashes.push(game.getHash());
+                undo.push(game.apply(randSols[i].substring(j, j + 4)));
+            }
+
+            while (!undo.isEmpty()) {
+                game.undo(undo.pop());
+                long expected = hashes.pop();
+
+                assertTrue("Expected hash " + expected + " after undoing back to " + game + ", but got " + game.getHash() + ".",
+                        game.getHash() == expected);
+            }
+
+            assertTrue("Expected the empty board to have hash 0.", game.getHash() == 0);
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        for (int i = 0; i < randSols.length; i++) {
+            Objective obj = Objective.getObjective(i % Objective.getOBJECTIVES().length);
+            Dinosaurs game = new Dinosaurs(obj);
+            game.initializeBoardState(randSols[i]);
+
+            for (int j = randSols[i].length() - 4; j >= 0; j -= 4) {
+                game.removeTile(randSols[i].charAt(j));
+
+                Dinosaurs expected = new Dinosaurs(obj);
+                expected.initializeBoardState(randSols[i].substring(0, j));
+
+                assertTrue("Expected " + expected + " after removing " + randSols[i].substring(j, j + 4) + ", but got " + game + ".",
+                        game.equals(expected) && game.getHash() == expected.getHash());
+            }
+        }
+    }
+
+    @Test
+    public void testNotEqual() {
+        Dinosaurs a = new Dinosaurs(Objective.getObjective(0));
+        Dinosaurs b = new Dinosaurs(Objective.getObjective(1));
+
+        assertTrue("Expected games with different objectives not to be equal.", !a.equals(b));
+
+        b = new Dinosaurs(Objective.getObjective(0));
+        a.addTileToBoard(sols[0][0].substring(0, 4));
+        b.addTileToBoard(sols[0][0].substring(4, 8));
+
+        assertTrue("Expected " + a + " not to equal " + b + ".", !a.equals(b) && a.getHash() != b.getHash());
+    }
+
+    @Test
+    public void testTable() {
+        TranspositionTable table = new TranspositionTable(100);
+
+        assertTrue("Expected 128 slots, but got " + table.getCapacity() + ".", table.getCapacity() == 128);
+        assertTrue("Expected an empty table.", !table.contains(42, 0) && !table.contains(42, 7));
+
+        table.add(42, 7);
+        assertTrue("Expected board 7 to be found at hash 42.", table.contains(42, 7));
+        assertTrue("Expected another board with the same hash not to be found.", !table.contains(42, 8));
+
+        table.add(42 + 128, 3);
+        assertTrue("Expected 42 to be replaced.", !table.contains(42, 7) && table.contains(42 + 128, 3));
+    }
+
+    @Test
+    public void testEverySquare() {
+        BacktrackingSolver solver = new BacktrackingSolver(Branching.EVERY_SQUARE);
+
+        for (int i = 0; i < Objective.getOBJECTIVES().length; i++) {
+            Set<String> out = new Dinosaurs(Objective.getObjective(i)).getSolutions(solver);
+            Set<String> expected = new HashSet<>(Arrays.asList(sols[i]));
+
+            assertTrue("Expected " + expected + " for problem " + Objective.getObjective(i).getProblemNumber() +
+                    ", but got " + out + ".", out.equals(expected));
+        }
+    }
+}